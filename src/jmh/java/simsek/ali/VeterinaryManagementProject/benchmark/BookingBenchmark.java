@@ -0,0 +1,126 @@
+package simsek.ali.VeterinaryManagementProject.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import simsek.ali.VeterinaryManagementProject.VeterinaryManagementProjectApplication;
+import simsek.ali.VeterinaryManagementProject.core.index.SlotOccupancyIndex;
+import simsek.ali.VeterinaryManagementProject.dto.request.AppointmentRequest;
+import simsek.ali.VeterinaryManagementProject.entity.Animal;
+import simsek.ali.VeterinaryManagementProject.entity.Customer;
+import simsek.ali.VeterinaryManagementProject.entity.Doctor;
+import simsek.ali.VeterinaryManagementProject.entity.WorkDay;
+import simsek.ali.VeterinaryManagementProject.exception.DoctorAppointmentConflictException;
+import simsek.ali.VeterinaryManagementProject.repository.AnimalRepository;
+import simsek.ali.VeterinaryManagementProject.repository.CustomerRepository;
+import simsek.ali.VeterinaryManagementProject.repository.DoctorRepository;
+import simsek.ali.VeterinaryManagementProject.repository.WorkDayRepository;
+import simsek.ali.VeterinaryManagementProject.service.AppointmentService;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AppointmentService.createAppointment içindeki uygunluk kontrolünü gömülü H2'ye karşı ölçer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    private Doctor doctor;
+    private AppointmentRequest takenSlot;
+    private AppointmentRequest freeSlot;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(VeterinaryManagementProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--logging.level.root=WARN");
+        appointmentService = context.getBean(AppointmentService.class);
+        slotOccupancyIndex = context.getBean(SlotOccupancyIndex.class);
+
+        Customer customer = Fixtures.customer();
+        customer.setId(null);
+        customer = context.getBean(CustomerRepository.class).save(customer);
+
+        Animal animal = Fixtures.animal();
+        animal.setId(null);
+        animal.setCustomer(customer);
+        animal = context.getBean(AnimalRepository.class).save(animal);
+
+        doctor = Fixtures.doctor();
+        doctor.setId(null);
+        doctor = context.getBean(DoctorRepository.class).save(doctor);
+
+        WorkDay workDay = new WorkDay();
+        workDay.setWorkDay(DAY);
+        workDay.setDoctor(doctor);
+        context.getBean(WorkDayRepository.class).save(workDay);
+
+        for (int hour = 9; hour < 17; hour++) {
+            appointmentService.createAppointment(new AppointmentRequest(DAY.atTime(hour, 0), null, doctor, animal));
+        }
+
+        Animal otherAnimal = Fixtures.animal();
+        otherAnimal.setId(null);
+        otherAnimal.setCustomer(customer);
+        otherAnimal = context.getBean(AnimalRepository.class).save(otherAnimal);
+
+        takenSlot = new AppointmentRequest(DAY.atTime(12, 0), null, doctor, otherAnimal);
+        freeSlot = new AppointmentRequest(DAY.atTime(18, 0), null, doctor, otherAnimal);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Dolu saate randevu denemesi: sadece uygunluk kontrolü çalışır, kayıt yapılmaz. */
+    @Benchmark
+    public Object rejectTakenSlot() {
+        return rejected(takenSlot);
+    }
+
+    /** Aynı kontrol, ama gün bilgisi her seferinde veritabanından yeniden yüklenir. */
+    @Benchmark
+    public Object rejectTakenSlotColdDay() {
+        slotOccupancyIndex.evictDoctor(doctor.getId());
+        return rejected(takenSlot);
+    }
+
+    /** Boş saate randevu oluşturup siler, böylece tablo büyümeden kabul edilen yol ölçülür. */
+    @Benchmark
+    public String bookAndCancel() {
+        Long id = appointmentService.createAppointment(freeSlot).getId();
+        return appointmentService.deleteAppointment(id);
+    }
+
+    private Object rejected(AppointmentRequest request) {
+        try {
+            return appointmentService.createAppointment(request);
+        } catch (DoctorAppointmentConflictException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package simsek.ali.VeterinaryManagementProject.benchmark;
+
+import simsek.ali.VeterinaryManagementProject.entity.Animal;
+import simsek.ali.VeterinaryManagementProject.entity.Appointment;
+import simsek.ali.VeterinaryManagementProject.entity.Customer;
+import simsek.ali.VeterinaryManagementProject.entity.Doctor;
+import simsek.ali.VeterinaryManagementProject.entity.Report;
+import simsek.ali.VeterinaryManagementProject.entity.Vaccination;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Customer customer() {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setName("Ali Şimşek");
+        customer.setPhone("05551112233");
+        customer.setEmail("ali@example.com");
+        customer.setAddress("Atatürk Cad. No:1");
+        customer.setCity("İzmir");
+        return customer;
+    }
+
+    static Doctor doctor() {
+        Doctor doctor = new Doctor();
+        doctor.setId(1L);
+        doctor.setName("Dr. Esra Şen");
+        doctor.setPhone("05554445566");
+        doctor.setEmail("esra@example.com");
+        doctor.setAddress("Cumhuriyet Bulv. No:10");
+        doctor.setCity("İzmir");
+        return doctor;
+    }
+
+    static Animal animal() {
+        Animal animal = new Animal();
+        animal.setId(1L);
+        animal.setName("Karabaş");
+        animal.setSpecies("Köpek");
+        animal.setBreed("Kangal");
+        animal.setGender("Erkek");
+        animal.setColour("Siyah");
+        animal.setDateOfBirth(LocalDate.of(2020, 5, 17));
+        animal.setCustomer(customer());
+        return animal;
+    }
+
+    static Appointment appointment() {
+        Appointment appointment = new Appointment();
+        appointment.setId(1L);
+        appointment.setAppointmentDate(LocalDateTime.of(2030, 1, 1, 10, 0));
+        appointment.setDoctor(doctor());
+        appointment.setAnimal(animal());
+        return appointment;
+    }
+
+    static Report report(int vaccinationCount) {
+        Report report = new Report();
+        report.setId(1L);
+        report.setTitle("Yıllık kontrol");
+        report.setDiagnosis("Sağlıklı");
+        report.setPrice(450.0);
+        report.setAppointment(appointment());
+
+        List<Vaccination> vaccinations = new ArrayList<>(vaccinationCount);
+        for (int i = 0; i < vaccinationCount; i++) {
+            Vaccination vaccination = new Vaccination();
+            vaccination.setId((long) i + 1);
+            vaccination.setName("Kuduz");
+            vaccination.setCode("KDZ-" + i);
+            vaccination.setProtectionStartDate(LocalDate.of(2030, 1, 1));
+            vaccination.setProtectionFinishDate(LocalDate.of(2031, 1, 1));
+            vaccination.setAnimal(report.getAppointment().getAnimal());
+            vaccination.setReport(report);
+            vaccinations.add(vaccination);
+        }
+        report.setVaccinationList(vaccinations);
+        return report;
+    }
+}
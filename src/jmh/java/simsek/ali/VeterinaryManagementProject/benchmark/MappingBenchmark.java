@@ -0,0 +1,117 @@
+package simsek.ali.VeterinaryManagementProject.benchmark;
+
+import org.hibernate.collection.spi.PersistentBag;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.AnimalMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.AppointmentMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.CustomerMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.DoctorMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.ReportMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.VaccinationMapper;
+import simsek.ali.VeterinaryManagementProject.dto.response.AnimalResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.AppointmentResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ReportResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.VaccinationResponse;
+import simsek.ali.VeterinaryManagementProject.entity.Animal;
+import simsek.ali.VeterinaryManagementProject.entity.Appointment;
+import simsek.ali.VeterinaryManagementProject.entity.Report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity -> response dönüşümlerini ölçer; "modelMapper" metotları karşılaştırma için eski ModelMapper ayarlarını kullanır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private AnimalMapper animalMapper;
+    private AppointmentMapper appointmentMapper;
+    private ReportMapper reportMapper;
+
+    private Animal animal;
+    private Appointment appointment;
+
+    @State(Scope.Benchmark)
+    public static class ReportFixture {
+
+        @Param({"0", "10", "100"})
+        private int vaccinationCount;
+
+        private Report report;
+
+        @Setup
+        public void setUp() {
+            report = Fixtures.report(vaccinationCount);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.addConverter(context -> new ArrayList<>(context.getSource()), PersistentBag.class, List.class);
+        modelMapper.getConfiguration()
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+
+        animalMapper = new AnimalMapper(new CustomerMapper());
+        appointmentMapper = new AppointmentMapper(new DoctorMapper(), animalMapper);
+        reportMapper = new ReportMapper(appointmentMapper, new VaccinationMapper(animalMapper));
+
+        animal = Fixtures.animal();
+        appointment = Fixtures.appointment();
+    }
+
+    @Benchmark
+    public AnimalResponse animalModelMapper() {
+        return modelMapper.map(animal, AnimalResponse.class);
+    }
+
+    @Benchmark
+    public AnimalResponse animalMapper() {
+        return animalMapper.toResponse(animal);
+    }
+
+    @Benchmark
+    public AppointmentResponse appointmentModelMapper() {
+        return modelMapper.map(appointment, AppointmentResponse.class);
+    }
+
+    @Benchmark
+    public AppointmentResponse appointmentMapper() {
+        return appointmentMapper.toResponse(appointment);
+    }
+
+    @Benchmark
+    public ReportResponse reportModelMapper(ReportFixture fixture) {
+        ReportResponse response = modelMapper.map(fixture.report, ReportResponse.class);
+        response.setVaccinationList(fixture.report.getVaccinationList().stream()
+                .map(vaccination -> modelMapper.map(vaccination, VaccinationResponse.class))
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    @Benchmark
+    public ReportResponse reportMapper(ReportFixture fixture) {
+        return reportMapper.toResponse(fixture.report);
+    }
+}
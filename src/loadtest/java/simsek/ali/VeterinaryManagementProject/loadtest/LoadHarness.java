@@ -0,0 +1,198 @@
+package simsek.ali.VeterinaryManagementProject.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Ağırlıklı senaryo karışımını eşzamanlı iş parçacıklarıyla oynatan HTTP yük üreticisi; gecikmeler senaryo başına
+ * bir HdrHistogram'da tutulur, ısınma süresindekiler atılır.
+ */
+public class LoadHarness {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private int totalWeight;
+
+    /**
+     * request fonksiyonu null dönerse (ör. henüz kullanılabilir veri yoksa) işçi başka bir senaryo seçer.
+     */
+    public LoadHarness scenario(String name, int weight, Function<SplittableRandom, HttpRequest> request,
+                                Consumer<HttpResponse<String>> onResponse) {
+        if (weight > 0) {
+            scenarios.add(new Scenario(name, weight, request, onResponse));
+            totalWeight += weight;
+        }
+        return this;
+    }
+
+    public LoadHarness scenario(String name, int weight, Function<SplittableRandom, HttpRequest> request) {
+        return scenario(name, weight, request, response -> { });
+    }
+
+    public Map<String, Result> run(int threads, Duration warmup, Duration duration, long seed) throws InterruptedException {
+        if (scenarios.isEmpty()) {
+            throw new IllegalStateException("Senaryo karışımı boş.");
+        }
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        SplittableRandom root = new SplittableRandom(seed);
+
+        ExecutorService executor = newWorkerExecutor(threads);
+        for (int i = 0; i < threads; i++) {
+            SplittableRandom random = root.split();
+            executor.execute(() -> work(random, end));
+        }
+
+        Thread.sleep(Math.max(0, TimeUnit.NANOSECONDS.toMillis(warmupEnd - System.nanoTime())));
+        for (Scenario scenario : scenarios) {
+            scenario.recorder.reset();
+            scenario.reset();
+        }
+        long measuredStart = System.nanoTime();
+
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - measuredStart) / 1e9;
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            results.put(scenario.name, scenario.result(seconds));
+        }
+        return results;
+    }
+
+    private void work(SplittableRandom random, long end) {
+        while (System.nanoTime() < end) {
+            Scenario scenario = pick(random);
+            HttpRequest request = scenario.request.apply(random);
+            if (request == null) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                scenario.record(start, response.statusCode());
+                scenario.onResponse.accept(response);
+            } catch (IOException e) {
+                scenario.record(start, 0);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Scenario pick(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            ticket -= scenario.weight;
+            if (ticket < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private static ExecutorService newWorkerExecutor(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+
+    /**
+     * Sonuçları tablo olarak yazdırır ve her senaryonun dağılımını {@code <senaryo>.hgrm} dosyasına kaydeder.
+     */
+    public static void report(Map<String, Result> results, PrintStream out, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        out.printf(Locale.ROOT, "%-18s %9s %10s %9s %9s %9s %9s %8s %8s %8s %8s%n",
+                "scenario", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "2xx", "4xx", "5xx", "errors");
+        for (Result result : results.values()) {
+            Histogram histogram = result.histogram();
+            out.printf(Locale.ROOT, "%-18s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %8d %8d %8d %8d%n",
+                    result.name(), histogram.getTotalCount(), result.throughput(),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0,
+                    result.status2xx(), result.status4xx(), result.status5xx(), result.errors());
+
+            try (PrintStream file = new PrintStream(Files.newOutputStream(directory.resolve(result.name() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+    }
+
+    public record Result(String name, Histogram histogram, double throughput,
+                         long status2xx, long status4xx, long status5xx, long errors) {
+    }
+
+    private static final class Scenario {
+
+        private final String name;
+        private final int weight;
+        private final Function<SplittableRandom, HttpRequest> request;
+        private final Consumer<HttpResponse<String>> onResponse;
+        private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+        /** İndeks: durum kodunun yüzler basamağı, 0 bağlantı hataları içindir. */
+        private final LongAdder[] statuses = new LongAdder[6];
+
+        private Scenario(String name, int weight, Function<SplittableRandom, HttpRequest> request,
+                         Consumer<HttpResponse<String>> onResponse) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+            this.onResponse = onResponse;
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] = new LongAdder();
+            }
+        }
+
+        private void record(long start, int status) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            recorder.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            statuses[Math.min(status / 100, statuses.length - 1)].increment();
+        }
+
+        private void reset() {
+            for (LongAdder status : statuses) {
+                status.reset();
+            }
+        }
+
+        private Result result(double seconds) {
+            Histogram histogram = recorder.getIntervalHistogram();
+            return new Result(name, histogram, histogram.getTotalCount() / seconds,
+                    statuses[2].sum(), statuses[4].sum(), statuses[5].sum(), statuses[0].sum());
+        }
+    }
+}
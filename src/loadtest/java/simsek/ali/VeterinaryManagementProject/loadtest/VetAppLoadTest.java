@@ -0,0 +1,165 @@
+package simsek.ali.VeterinaryManagementProject.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import simsek.ali.VeterinaryManagementProject.core.datagen.DataGeneratorProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Karışık randevu, arama ve rapor trafiğini datagen verisiyle doldurulmuş uygulamaya karşı oynatır:
+ * <pre>
+ * mvn -Ploadtest test -Dloadtest.threads=64 -Dloadtest.duration=30 -Dloadtest.mix=book=40,searchDoctor=30,vaccinationRange=20,report=10
+ * </pre>
+ * Dolu slota düşen randevular 400 döner; test yalnızca 5xx ve bağlantı hatalarında düşer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "datagen.exit-when-done=false",
+        "datagen.customers=500",
+        "datagen.doctors=20",
+        "datagen.appointments=4000",
+        "datagen.batch-size=1000",
+        "logging.level.root=WARN"
+})
+@ActiveProfiles("datagen")
+class VetAppLoadTest {
+
+    private static final String DEFAULT_MIX = "book=40,searchDoctor=30,vaccinationRange=20,report=10";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataGeneratorProperties dataGeneratorProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void replayTrafficMix() throws Exception {
+        int threads = Integer.getInteger("loadtest.threads", 32);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 5));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 20));
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+
+        List<Long> doctorIds = jdbcTemplate.queryForList("select id from doctor order by id", Long.class);
+        List<Long> animalIds = jdbcTemplate.queryForList("select id from animal order by id", Long.class);
+        List<WorkDaySlot> workDays = jdbcTemplate.query("select doctor_id, work_date from work_day order by id",
+                (rs, row) -> new WorkDaySlot(rs.getLong(1), rs.getDate(2).toLocalDate()));
+        LocalDate firstDay = dataGeneratorProperties.getStartDate();
+        long days = Math.max(1, workDays.get(workDays.size() - 1).day().toEpochDay() - firstDay.toEpochDay());
+
+        ConcurrentLinkedQueue<Long> bookedAppointments = new ConcurrentLinkedQueue<>();
+
+        LoadHarness harness = new LoadHarness()
+                .scenario("book", mix.getOrDefault("book", 0), random -> {
+                    WorkDaySlot workDay = workDays.get(random.nextInt(workDays.size()));
+                    LocalDateTime slot = workDay.day().atTime(dataGeneratorProperties.getDayStartHour(), 0)
+                            .plusMinutes((long) random.nextInt(dataGeneratorProperties.getSlotsPerDay()) * dataGeneratorProperties.getSlotMinutes());
+                    return post("/api/v1/appointments", Map.of(
+                            "appointmentDate", slot.toString(),
+                            "doctor", Map.of("id", workDay.doctorId()),
+                            "animal", Map.of("id", animalIds.get(random.nextInt(animalIds.size())))));
+                }, response -> {
+                    if (response.statusCode() == 201) {
+                        bookedAppointments.add(readId(response));
+                    }
+                })
+                .scenario("searchDoctor", mix.getOrDefault("searchDoctor", 0), random -> {
+                    LocalDate start = firstDay.plusDays(random.nextLong(days));
+                    return get("/api/v1/appointments/searchByDoctorAndDateRange?id=" + doctorIds.get(random.nextInt(doctorIds.size()))
+                            + "&startDate=" + start + "&endDate=" + start.plusDays(7));
+                })
+                .scenario("vaccinationRange", mix.getOrDefault("vaccinationRange", 0), random -> {
+                    LocalDate start = firstDay.plusDays(random.nextLong(days));
+                    return get("/api/v1/vaccinations/searchByVaccinationRange?startDate=" + start + "&endDate=" + start.plusDays(30));
+                })
+                .scenario("report", mix.getOrDefault("report", 0), random -> {
+                    Long appointmentId = bookedAppointments.poll();
+                    if (appointmentId == null) {
+                        return null;
+                    }
+                    return post("/api/v1/reports", Map.of(
+                            "title", "Yük testi " + appointmentId,
+                            "diagnosis", "Kontrol",
+                            "price", 250.0,
+                            "appointmentId", appointmentId));
+                });
+
+        Map<String, LoadHarness.Result> results = harness.run(threads, warmup, duration, dataGeneratorProperties.getSeed());
+        LoadHarness.report(results, System.out, Path.of("target", "loadtest"));
+
+        assertAll(results.values().stream().map(result -> () -> {
+            assertEquals(0, result.status5xx(), result.name() + " 5xx");
+            assertEquals(0, result.errors(), result.name() + " bağlantı hatası");
+        }));
+        if (results.containsKey("book")) {
+            assertTrue(results.get("book").status2xx() > 0, "Hiç randevu alınamadı.");
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private long readId(HttpResponse<String> response) {
+        try {
+            JsonNode node = objectMapper.readTree(response.body());
+            return node.get("id").asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private record WorkDaySlot(long doctorId, LocalDate day) {
+    }
+}
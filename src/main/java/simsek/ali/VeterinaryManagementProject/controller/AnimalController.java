@@ -1,14 +1,20 @@
 package simsek.ali.VeterinaryManagementProject.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import simsek.ali.VeterinaryManagementProject.core.imports.ImportReader;
 import simsek.ali.VeterinaryManagementProject.dto.request.AnimalRequest;
 import simsek.ali.VeterinaryManagementProject.dto.response.AnimalResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ImportResultResponse;
 import simsek.ali.VeterinaryManagementProject.service.AnimalService;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/v1/animals")
 @RequiredArgsConstructor
@@ -17,11 +23,17 @@ public class AnimalController {
     public final AnimalService animalService;
 
     @GetMapping
-    public ResponseEntity< Page<AnimalResponse> > findAllAnimals(
+    public ResponseEntity<?> findAllAnimals(
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
         ){
-        return ResponseEntity.status(HttpStatus.OK).body(animalService.findAllAnimals(pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(animalService.scrollAllAnimals(after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(animalService.findAllAnimals(pageNumber, pageSize, withTotal));
     }
 
     @GetMapping("/{id}")
@@ -30,22 +42,34 @@ public class AnimalController {
     }
 
     @GetMapping("/searchByName")
-    public ResponseEntity<Page<AnimalResponse>> findAnimalsByName (
+    public ResponseEntity<?> findAnimalsByName (
             @RequestParam String name,
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
             ){
-        return ResponseEntity.status(HttpStatus.OK).body(animalService.findAnimalsByName(name, pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(animalService.scrollAnimalsByName(name, after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(animalService.findAnimalsByName(name, pageNumber, pageSize, withTotal));
     }
 
     @GetMapping("/searchByCustomer")
-    public ResponseEntity<Page<AnimalResponse>> findAnimalsByCustomer (
+    public ResponseEntity<?> findAnimalsByCustomer (
             @RequestParam String customerName,
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
             ){
 
-        return ResponseEntity.status(HttpStatus.OK).body(animalService.findAnimalsByCustomer(customerName, pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(animalService.scrollAnimalsByCustomer(customerName, after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(animalService.findAnimalsByCustomer(customerName, pageNumber, pageSize, withTotal));
     }
 
     @PostMapping
@@ -54,6 +78,11 @@ public class AnimalController {
         return ResponseEntity.status(HttpStatus.CREATED).body(animalService.createAnimal(animalRequest));
     }
 
+    @PostMapping(value = "/import", consumes = {ImportReader.TEXT_CSV_VALUE, MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportResultResponse> importAnimals (@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        return ResponseEntity.status(HttpStatus.OK).body(animalService.importAnimals(body, contentType));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AnimalResponse> updateAnimal (@PathVariable Long id, @RequestBody AnimalRequest animalRequest){
 
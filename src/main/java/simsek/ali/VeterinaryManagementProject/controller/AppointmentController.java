@@ -1,15 +1,20 @@
 package simsek.ali.VeterinaryManagementProject.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import simsek.ali.VeterinaryManagementProject.dto.request.AppointmentRequest;
+import simsek.ali.VeterinaryManagementProject.dto.request.AppointmentScheduleRequest;
 import simsek.ali.VeterinaryManagementProject.dto.response.AppointmentResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.AvailableSlotResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ScheduleResultResponse;
 import simsek.ali.VeterinaryManagementProject.service.AppointmentService;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/appointments")
@@ -19,11 +24,37 @@ public class AppointmentController {
     private final AppointmentService appointmentService;
 
     @GetMapping
-    public ResponseEntity<Page<AppointmentResponse>> findAllAppointments(
+    public ResponseEntity<?> findAllAppointments(
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
         ){
-        return ResponseEntity.status(HttpStatus.OK).body(appointmentService.findAllAppointments(pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(appointmentService.scrollAllAppointments(after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(appointmentService.findAllAppointments(pageNumber, pageSize, withTotal));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(name = "doctorId", required = false) Long doctorId,
+            @RequestParam(name = "startDate", required = false) LocalDate startDate,
+            @RequestParam(name = "endDate", required = false) LocalDate endDate
+        ){
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> appointmentService.exportAppointments(doctorId, startDate, endDate, out));
+    }
+
+    @GetMapping("/nextAvailable")
+    public ResponseEntity<List<AvailableSlotResponse>> findNextAvailableSlots(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(name = "doctorId", required = false) Long doctorId,
+            @RequestParam(name = "limit", required = false, defaultValue = "10") int limit
+        ){
+        return ResponseEntity.status(HttpStatus.OK).body(appointmentService.findNextAvailableSlots(from, to, doctorId, limit));
     }
 
     @GetMapping("/{id}")
@@ -32,26 +63,38 @@ public class AppointmentController {
     }
 
     @GetMapping("/searchByDoctorAndDateRange")
-    public ResponseEntity<Page<AppointmentResponse>> findAppointmentByDoctorIdAndDateRange (
+    public ResponseEntity<?> findAppointmentByDoctorIdAndDateRange (
             @RequestParam(value = "id", required = false) Long id,
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate,
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
         ){
-        return ResponseEntity.status(HttpStatus.OK).body(appointmentService.findAppointmentByDoctorIdAndDateRange(id, startDate, endDate, pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(appointmentService.scrollAppointmentByDoctorIdAndDateRange(id, startDate, endDate, after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(appointmentService.findAppointmentByDoctorIdAndDateRange(id, startDate, endDate, pageNumber, pageSize, withTotal));
     }
 
 
     @GetMapping("/searchByAnimalAndDateRange")
-    public ResponseEntity<Page<AppointmentResponse>> findAppointmentByAnimalIdAndDateRange (
+    public ResponseEntity<?> findAppointmentByAnimalIdAndDateRange (
             @RequestParam(value = "id", required = false) Long id,
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate,
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
             ){
-        return ResponseEntity.ok().body(appointmentService.findAppointmentByAnimalIdAndDateRange(id, startDate, endDate, pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(appointmentService.scrollAppointmentByAnimalIdAndDateRange(id, startDate, endDate, after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.ok().body(appointmentService.findAppointmentByAnimalIdAndDateRange(id, startDate, endDate, pageNumber, pageSize, withTotal));
     }
 
     @PostMapping
@@ -59,6 +102,11 @@ public class AppointmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(appointmentService.createAppointment(appointmentRequest));
     }
 
+    @PostMapping("/schedule")
+    public ResponseEntity<ScheduleResultResponse> scheduleAppointments (@RequestBody List<AppointmentScheduleRequest> requests){
+        return ResponseEntity.status(HttpStatus.OK).body(appointmentService.scheduleAppointments(requests));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AppointmentResponse> updateAppointment (@PathVariable Long id, @RequestBody AppointmentRequest appointmentRequest){
         return ResponseEntity.status(HttpStatus.OK).body(appointmentService.updateAppointment(id, appointmentRequest));
@@ -1,14 +1,21 @@
 package simsek.ali.VeterinaryManagementProject.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import simsek.ali.VeterinaryManagementProject.core.imports.ImportReader;
 import simsek.ali.VeterinaryManagementProject.dto.request.CustomerRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.CustomerOverviewResponse;
 import simsek.ali.VeterinaryManagementProject.dto.response.CustomerResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ImportResultResponse;
 import simsek.ali.VeterinaryManagementProject.service.CustomerService;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/v1/customers")
 @RequiredArgsConstructor
@@ -17,11 +24,17 @@ public class CustomerController {
     public final CustomerService customerService;
 
     @GetMapping
-    public ResponseEntity< Page<CustomerResponse> > findAllCustomers (
+    public ResponseEntity<?> findAllCustomers (
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
     ){
-        return ResponseEntity.status(HttpStatus.OK).body(customerService.findAllCustomers(pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(customerService.scrollAllCustomers(after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(customerService.findAllCustomers(pageNumber, pageSize, withTotal));
     }
 
     @GetMapping("/{id}")
@@ -29,12 +42,23 @@ public class CustomerController {
         return  ResponseEntity.status(HttpStatus.OK).body(customerService.findCustomerById(id));
     }
 
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<CustomerOverviewResponse> findCustomerOverview (@PathVariable Long id){
+        return ResponseEntity.status(HttpStatus.OK).body(customerService.findCustomerOverview(id));
+    }
+
     @GetMapping("/searchByName")
-    public ResponseEntity< Page<CustomerResponse> >  findCustomersByName (
+    public ResponseEntity<?> findCustomersByName (
             @RequestParam String name,
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize){
-        return ResponseEntity.status(HttpStatus.OK).body(customerService.findCustomersByName(name, pageNumber, pageSize));
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit){
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(customerService.scrollCustomersByName(name, after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(customerService.findCustomersByName(name, pageNumber, pageSize, withTotal));
     }
 
     @PostMapping
@@ -42,6 +66,11 @@ public class CustomerController {
         return ResponseEntity.status(HttpStatus.OK).body(customerService.createCustomer(customerRequest)) ;
     }
 
+    @PostMapping(value = "/import", consumes = {ImportReader.TEXT_CSV_VALUE, MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportResultResponse> importCustomers (@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        return ResponseEntity.status(HttpStatus.OK).body(customerService.importCustomers(body, contentType));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<CustomerResponse> updateCustomer (@PathVariable Long id, @RequestBody CustomerRequest customerRequest){
         return ResponseEntity.status(HttpStatus.OK).body(customerService.updateCustomer(id, customerRequest));
@@ -1,7 +1,6 @@
 package simsek.ali.VeterinaryManagementProject.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,19 +16,31 @@ public class DoctorController {
     public final DoctorService doctorService;
 
     @GetMapping
-    public ResponseEntity<Page<DoctorResponse>> findAllDoctors (
+    public ResponseEntity<?> findAllDoctors (
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
     ){
-        return ResponseEntity.status(HttpStatus.OK).body(doctorService.findAllDoctors(pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(doctorService.scrollAllDoctors(after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(doctorService.findAllDoctors(pageNumber, pageSize, withTotal));
     }
 
     @GetMapping("/searchByName")
-    public ResponseEntity<Page<DoctorResponse>> findDoctorsByName (
+    public ResponseEntity<?> findDoctorsByName (
             @RequestParam String name,
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize){
-        return ResponseEntity.status(HttpStatus.OK).body(doctorService.findDoctorsByName(name, pageNumber, pageSize));
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit){
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(doctorService.scrollDoctorsByName(name, after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(doctorService.findDoctorsByName(name, pageNumber, pageSize, withTotal));
     }
 
     @GetMapping("/{id}")
@@ -1,15 +1,18 @@
 package simsek.ali.VeterinaryManagementProject.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import simsek.ali.VeterinaryManagementProject.dto.request.ReportRequest;
 import simsek.ali.VeterinaryManagementProject.dto.response.ReportResponse;
 import simsek.ali.VeterinaryManagementProject.entity.Report;
 import simsek.ali.VeterinaryManagementProject.service.ReportService;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/v1/reports")
 @RequiredArgsConstructor
@@ -18,12 +21,40 @@ class ReportController {
     private final ReportService reportService;
 
     @GetMapping
-    public ResponseEntity<Page<ReportResponse>> findAllReports (
+    public ResponseEntity<?> findAllReports (
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ){
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(reportService.scrollAllReports(after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(reportService.findAllReports(pageNumber,pageSize, withTotal));
+
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(
+            @RequestParam(name = "doctorId", required = false) Long doctorId,
+            @RequestParam(name = "startDate", required = false) LocalDate startDate,
+            @RequestParam(name = "endDate", required = false) LocalDate endDate
     ){
-        return ResponseEntity.status(HttpStatus.OK).body(reportService.findAllReports(pageNumber,pageSize));
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> reportService.exportReports(doctorId, startDate, endDate, out));
+    }
 
+    @GetMapping("/search")
+    public ResponseEntity<?> searchReports(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "doctorId", required = false) Long doctorId,
+            @RequestParam(name = "startDate", required = false) LocalDate startDate,
+            @RequestParam(name = "endDate", required = false) LocalDate endDate,
+            @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+    ){
+        return ResponseEntity.status(HttpStatus.OK).body(reportService.searchReports(query, doctorId, startDate, endDate, pageNumber, pageSize));
     }
 
     @GetMapping("/{id}")
@@ -1,10 +1,11 @@
 package simsek.ali.VeterinaryManagementProject.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import simsek.ali.VeterinaryManagementProject.dto.request.VaccinationRequest;
 import simsek.ali.VeterinaryManagementProject.dto.response.VaccinationResponse;
 import simsek.ali.VeterinaryManagementProject.service.VaccinationService;
@@ -19,11 +20,26 @@ public class VaccinationController {
     private final VaccinationService vaccinationService;
 
     @GetMapping
-    public ResponseEntity<Page<VaccinationResponse>> findAllVaccinations(
+    public ResponseEntity<?> findAllVaccinations(
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
     ){
-        return ResponseEntity.status(HttpStatus.OK).body(vaccinationService.findAllVaccinations(pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(vaccinationService.scrollAllVaccinations(after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(vaccinationService.findAllVaccinations(pageNumber, pageSize, withTotal));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportVaccinations(
+            @RequestParam(name = "startDate", required = false) LocalDate startDate,
+            @RequestParam(name = "endDate", required = false) LocalDate endDate
+    ){
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> vaccinationService.exportVaccinations(startDate, endDate, out));
     }
 
     @GetMapping("/{id}")
@@ -33,22 +49,34 @@ public class VaccinationController {
     }
 
     @GetMapping("/searchByVaccinationRange")
-    public ResponseEntity<Page<VaccinationResponse>> findAnimalsByVaccinationProtectionFinishDateRange(
+    public ResponseEntity<?> findAnimalsByVaccinationProtectionFinishDateRange(
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate,
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
     ){
-        return ResponseEntity.status(HttpStatus.OK).body(vaccinationService.findAnimalsByVaccinationProtectionFinishDateRange(startDate, endDate, pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(vaccinationService.scrollAnimalsByVaccinationProtectionFinishDateRange(startDate, endDate, after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(vaccinationService.findAnimalsByVaccinationProtectionFinishDateRange(startDate, endDate, pageNumber, pageSize, withTotal));
     }
 
     @GetMapping("/searchByName")
-    public ResponseEntity<Page<VaccinationResponse>> findVaccinationsByAnimalName(
+    public ResponseEntity<?> findVaccinationsByAnimalName(
             @RequestParam String name,
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
     ){
-        return ResponseEntity.status(HttpStatus.OK).body(vaccinationService.findVaccinationsByAnimalName(name, pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(vaccinationService.scrollVaccinationsByAnimalName(name, after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(vaccinationService.findVaccinationsByAnimalName(name, pageNumber, pageSize, withTotal));
     }
 
     @PostMapping
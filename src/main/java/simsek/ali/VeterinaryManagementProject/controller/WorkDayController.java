@@ -1,7 +1,6 @@
 package simsek.ali.VeterinaryManagementProject.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,11 +21,17 @@ public class WorkDayController {
     public final WorkDayService workDayService;
 
     @GetMapping
-    public ResponseEntity<Page<WorkDayResponse>> findAllWorkDays (
+    public ResponseEntity<?> findAllWorkDays (
             @RequestParam(name = "pageNumber", required = false, defaultValue = "0") int pageNumber,
-            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize
+            @RequestParam(name = "pageSize", required = false, defaultValue = "10") int pageSize,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "true") boolean withTotal,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit", required = false) Integer limit
     ){
-        return ResponseEntity.status(HttpStatus.OK).body(workDayService.findAllWorkDays(pageNumber, pageSize));
+        if (after != null || limit != null){
+            return ResponseEntity.status(HttpStatus.OK).body(workDayService.scrollAllWorkDays(after, limit != null ? limit : pageSize));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(workDayService.findAllWorkDays(pageNumber, pageSize, withTotal));
     }
 
     @GetMapping("/{id}")
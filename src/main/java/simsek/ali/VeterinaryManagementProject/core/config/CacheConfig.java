@@ -0,0 +1,15 @@
+package simsek.ali.VeterinaryManagementProject.core.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Doktor ve müşteri response DTO'ları için Caffeine önbellekleri; sınırlar spring.cache.caffeine.spec ile verilir.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DOCTORS = "doctors";
+    public static final String CUSTOMERS = "customers";
+}
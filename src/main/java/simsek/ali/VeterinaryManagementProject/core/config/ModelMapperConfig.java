@@ -1,28 +0,0 @@
-package simsek.ali.VeterinaryManagementProject.core.config;
-
-
-import org.hibernate.collection.spi.PersistentBag;
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-import java.util.ArrayList;
-import java.util.List;
-
-@Configuration
-public class ModelMapperConfig {
-
-    @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper modelMapper = new ModelMapper();
-
-
-        modelMapper.addConverter(context -> new ArrayList<>(context.getSource()), PersistentBag.class, List.class);
-
-        modelMapper.getConfiguration()
-                .setFieldMatchingEnabled(true)
-                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
-
-        return modelMapper;
-    }
-}
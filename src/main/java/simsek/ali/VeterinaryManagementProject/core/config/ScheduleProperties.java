@@ -0,0 +1,30 @@
+package simsek.ali.VeterinaryManagementProject.core.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * Klinik çalışma saatleri ve randevu slot uzunluğu (vetapp.schedule.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "vetapp.schedule")
+@Getter
+@Setter
+public class ScheduleProperties {
+
+    private LocalTime openingTime = LocalTime.of(9, 0);
+    private LocalTime closingTime = LocalTime.of(17, 0);
+    private int slotMinutes = 30;
+
+    /**
+     * Süresi kaydedilmemiş eski randevular bir slot uzunluğunda sayılır.
+     */
+    public Duration duration(Integer durationMinutes) {
+        return Duration.ofMinutes(durationMinutes != null ? durationMinutes : slotMinutes);
+    }
+}
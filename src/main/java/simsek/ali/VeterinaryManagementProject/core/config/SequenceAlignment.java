@@ -0,0 +1,62 @@
+package simsek.ali.VeterinaryManagementProject.core.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Havuzlu sequence'leri mevcut en büyük id'nin ilerisine taşır, hiçbir zaman geri almaz. Açılışta ve id'leri
+ * kendisi veren toplu yüklemelerden (ör. datagen) sonra çalışır.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceAlignment implements SmartInitializingSingleton {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "customer_seq", "customer",
+            "animal_seq", "animal",
+            "appointment_seq", "appointment");
+    private static final List<String> IDENTITY_TABLES = List.of("doctor", "work_day", "report", "vaccination");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        align();
+    }
+
+    public void align() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(database)) {
+            SEQUENCES.forEach((sequence, table) -> jdbcTemplate.queryForObject(
+                    "select setval('" + sequence + "', greatest((select coalesce(max(id), 0) from " + table + ") + " + ALLOCATION_SIZE
+                            + ", (select last_value from " + sequence + ")))", Long.class));
+            IDENTITY_TABLES.forEach(table -> jdbcTemplate.queryForObject(
+                    "select setval(pg_get_serial_sequence('" + table + "', 'id'), greatest(coalesce(max(id), 0) + 1, "
+                            + "nextval(pg_get_serial_sequence('" + table + "', 'id'))), false) from " + table, Long.class));
+        } else if ("H2".equals(database)) {
+            SEQUENCES.forEach((sequence, table) -> jdbcTemplate.execute(
+                    "alter sequence " + sequence + " restart with " + Math.max(maxId(table) + ALLOCATION_SIZE, nextSequenceValue(sequence))));
+            IDENTITY_TABLES.forEach(table -> jdbcTemplate.execute(
+                    "alter table " + table + " alter column id restart with " + Math.max(maxId(table) + 1, nextIdentityValue(table))));
+        }
+    }
+
+    private long nextSequenceValue(String sequence) {
+        return jdbcTemplate.queryForObject("select base_value from information_schema.sequences where sequence_name = ?", Long.class, sequence);
+    }
+
+    private long nextIdentityValue(String table) {
+        return jdbcTemplate.queryForObject("select identity_base from information_schema.columns where table_name = ? and column_name = 'id'", Long.class, table);
+    }
+
+    private long maxId(String table) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+    }
+}
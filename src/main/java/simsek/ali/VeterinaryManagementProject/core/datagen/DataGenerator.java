@@ -0,0 +1,288 @@
+package simsek.ali.VeterinaryManagementProject.core.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.core.config.SequenceAlignment;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Kapasite testleri için sentetik veri üretir; boş bir veritabanında aynı seed hep aynı veriyi verir:
+ * <pre>
+ * java -jar app.jar --spring.profiles.active=datagen --datagen.seed=42 --datagen.customers=1000000 \
+ *      --datagen.doctors=500 --datagen.appointments=20000000
+ * </pre>
+ * PostgreSQL'de JDBC url'ine reWriteBatchedInserts=true eklemek yazımı belirgin hızlandırır.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class DataGenerator implements ApplicationRunner {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+    private static final String[] FIRST_NAMES = {"Ali", "Ayşe", "Mehmet", "Fatma", "Mustafa", "Emine", "Ahmet", "Hatice", "Hüseyin", "Zeynep",
+            "Hasan", "Elif", "İbrahim", "Meryem", "Murat", "Esra", "Ömer", "Büşra", "Yusuf", "Selin", "Can", "Deniz", "Ece", "Emre"};
+    private static final String[] LAST_NAMES = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Yıldırım", "Öztürk", "Aydın", "Özdemir",
+            "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt", "Özkan", "Şimşek", "Polat", "Erdoğan", "Güneş", "Aksoy"};
+    private static final String[] CITIES = {"İstanbul", "Ankara", "İzmir", "Bursa", "Antalya", "Konya", "Adana", "Eskişehir", "Trabzon", "Kayseri"};
+    private static final String[] STREETS = {"Atatürk Cad.", "Cumhuriyet Cad.", "İstiklal Cad.", "Gazi Bulvarı", "Lale Sok.", "Menekşe Sok."};
+    private static final String[] ANIMAL_NAMES = {"Karabaş", "Pamuk", "Boncuk", "Tarçın", "Duman", "Zeytin", "Fıstık", "Maya", "Paşa", "Limon",
+            "Mia", "Leo", "Luna", "Max", "Bella", "Oscar", "Şans", "Kömür", "Bal", "Minnoş"};
+    private static final String[][] SPECIES_BREEDS = {
+            {"Köpek", "Kangal", "Golden Retriever", "Terrier", "Labrador", "Sokak"},
+            {"Kedi", "Tekir", "Van", "Ankara", "British Shorthair", "Scottish Fold"},
+            {"Kuş", "Muhabbet", "Kanarya", "Sultan Papağanı"},
+            {"Tavşan", "Hollanda Lop", "Aslan Baş"}};
+    private static final String[] COLOURS = {"Siyah", "Beyaz", "Kahverengi", "Gri", "Sarı", "Benekli", "Tekir"};
+    private static final String[] GENDERS = {"Erkek", "Dişi"};
+    private static final String[][] VACCINES = {
+            {"Kuduz", "KDZ", "365"}, {"Karma", "KRM", "365"}, {"Lösemi", "FLV", "365"}, {"Bronşin", "BRN", "180"},
+            {"Lyme", "LYM", "365"}, {"Corona", "CRN", "180"}, {"İç Parazit", "ICP", "90"}, {"Dış Parazit", "DSP", "60"}};
+    private static final String[] DIAGNOSES = {"Genel kontrol, sağlıklı.", "Hafif dermatit.", "Kulak enfeksiyonu.", "Diş taşı temizliği önerildi.",
+            "Sindirim problemi.", "Aşı öncesi muayene.", "Kilo kontrolü.", "Göz enfeksiyonu.", "Topallık, röntgen istendi."};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataGeneratorProperties properties;
+    private final SequenceAlignment sequenceAlignment;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        SplittableRandom seed = new SplittableRandom(properties.getSeed());
+        SplittableRandom customerRandom = seed.split();
+        SplittableRandom animalRandom = seed.split();
+        SplittableRandom doctorRandom = seed.split();
+        SplittableRandom scheduleRandom = seed.split();
+        SplittableRandom vaccinationRandom = seed.split();
+
+        long customerBase = maxId("customer");
+        long animalBase = maxId("animal");
+        long doctorBase = maxId("doctor");
+        long animals = Math.round(properties.getCustomers() * properties.getAnimalsPerCustomer());
+
+        generateCustomers(customerRandom, customerBase);
+        generateAnimals(animalRandom, animalBase, animals, customerBase);
+        generateDoctors(doctorRandom, doctorBase);
+        generateSchedule(scheduleRandom, doctorBase, animalBase, animals);
+        generateVaccinations(vaccinationRandom, animalBase, animals);
+
+        sequenceAlignment.align();
+        log.info("datagen finished in {} s", (System.nanoTime() - started) / 1_000_000_000);
+
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void generateCustomers(SplittableRandom random, long base) {
+        try (BatchInserter customers = inserter("customer", "insert into customer (id, name, phone, email, address, city) values (?, ?, ?, ?, ?, ?)", null)) {
+            for (long i = 1; i <= properties.getCustomers(); i++) {
+                long id = base + i;
+                String firstName = pick(random, FIRST_NAMES);
+                String lastName = pick(random, LAST_NAMES);
+                customers.add(id, firstName + " " + lastName, phone(random),
+                        ascii(firstName) + "." + ascii(lastName) + id + "@example.com",
+                        pick(random, STREETS) + " No:" + (1 + random.nextInt(200)), pick(random, CITIES));
+            }
+        }
+    }
+
+    private void generateAnimals(SplittableRandom random, long base, long animals, long customerBase) {
+        LocalDate oldest = properties.getStartDate().minusYears(15);
+        int birthRange = (int) (properties.getStartDate().plusYears(5).toEpochDay() - oldest.toEpochDay());
+        try (BatchInserter inserter = inserter("animal",
+                "insert into animal (id, name, species, breed, gender, colour, date_of_birth, customer_id) values (?, ?, ?, ?, ?, ?, ?, ?)", null)) {
+            for (long i = 1; i <= animals; i++) {
+                String[] speciesBreeds = pick(random, SPECIES_BREEDS);
+                inserter.add(base + i, pick(random, ANIMAL_NAMES), speciesBreeds[0], speciesBreeds[1 + random.nextInt(speciesBreeds.length - 1)],
+                        pick(random, GENDERS), pick(random, COLOURS), Date.valueOf(oldest.plusDays(random.nextInt(birthRange))),
+                        customerBase + 1 + random.nextLong(properties.getCustomers()));
+            }
+        }
+    }
+
+    private void generateDoctors(SplittableRandom random, long base) {
+        try (BatchInserter doctors = inserter("doctor", "insert into doctor (id, name, phone, email, address, city) values (?, ?, ?, ?, ?, ?)", null)) {
+            for (long i = 1; i <= properties.getDoctors(); i++) {
+                String firstName = pick(random, FIRST_NAMES);
+                String lastName = pick(random, LAST_NAMES);
+                doctors.add(base + i, "Dr. " + firstName + " " + lastName, phone(random),
+                        "dr." + ascii(firstName) + "." + ascii(lastName) + (base + i) + "@vetapp.example.com",
+                        pick(random, STREETS) + " No:" + (1 + random.nextInt(200)), pick(random, CITIES));
+            }
+        }
+    }
+
+    /**
+     * Doktor başına randevu kotasını hafta içi günlere, çakışmayan slotlara dağıtır.
+     */
+    private void generateSchedule(SplittableRandom random, long doctorBase, long animalBase, long animals) {
+        long workDayId = maxId("work_day");
+        long appointmentId = maxId("appointment");
+        long reportId = maxId("report");
+        long vaccinationId = maxId("vaccination");
+
+        try (BatchInserter workDays = inserter("work_day", "insert into work_day (id, work_date, doctor_id) values (?, ?, ?)", null);
+             BatchInserter appointments = inserter("appointment", "insert into appointment (id, appointment_date, doctor_id, animal_id) values (?, ?, ?, ?)", null);
+             BatchInserter reports = inserter("report", "insert into report (id, title, diagnosis, price, appointment_id) values (?, ?, ?, ?, ?)", appointments);
+             BatchInserter vaccinations = inserter("vaccination",
+                     "insert into vaccination (id, name, code, protection_start_date, protection_finish_date, animal_id, report_id) values (?, ?, ?, ?, ?, ?, ?)", reports)) {
+
+            for (long doctor = 1; doctor <= properties.getDoctors(); doctor++) {
+                long quota = properties.getAppointments() / properties.getDoctors()
+                        + (doctor <= properties.getAppointments() % properties.getDoctors() ? 1 : 0);
+                LocalDate day = properties.getStartDate();
+                while (quota > 0) {
+                    if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                        day = day.plusDays(1);
+                        continue;
+                    }
+                    workDays.add(++workDayId, Date.valueOf(day), doctorBase + doctor);
+
+                    LocalDateTime opening = day.atTime(properties.getDayStartHour(), 0);
+                    for (int slot = 0; slot < properties.getSlotsPerDay() && quota > 0; slot++) {
+                        if (random.nextDouble() >= properties.getSlotOccupancy()) {
+                            continue;
+                        }
+                        quota--;
+                        long animal = animalBase + 1 + random.nextLong(animals);
+                        appointments.add(++appointmentId, Timestamp.valueOf(opening.plusMinutes((long) slot * properties.getSlotMinutes())),
+                                doctorBase + doctor, animal);
+
+                        if (random.nextDouble() < properties.getReportRatio()) {
+                            reports.add(++reportId, "Muayene " + appointmentId, pick(random, DIAGNOSES),
+                                    (double) (250 + 50 * random.nextInt(30)), appointmentId);
+
+                            if (random.nextDouble() < properties.getReportVaccinationRatio()) {
+                                String[] vaccine = pick(random, VACCINES);
+                                vaccinations.add(++vaccinationId, vaccine[0], vaccine[1], Date.valueOf(day),
+                                        Date.valueOf(day.plusDays(Integer.parseInt(vaccine[2]))), animal, reportId);
+                            }
+                        }
+                    }
+                    day = day.plusDays(1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rapordan bağımsız, koruyuculuk aralıkları birbiriyle çakışabilen aşılar.
+     */
+    private void generateVaccinations(SplittableRandom random, long animalBase, long animals) {
+        long vaccinationId = maxId("vaccination");
+        int spread = (int) (properties.getStartDate().plusYears(8).toEpochDay() - properties.getStartDate().toEpochDay());
+        int maxPerAnimal = (int) Math.round(2 * properties.getVaccinationsPerAnimal());
+        try (BatchInserter vaccinations = inserter("vaccination",
+                "insert into vaccination (id, name, code, protection_start_date, protection_finish_date, animal_id, report_id) values (?, ?, ?, ?, ?, ?, ?)", null)) {
+            for (long i = 1; i <= animals; i++) {
+                int count = random.nextInt(maxPerAnimal + 1);
+                for (int v = 0; v < count; v++) {
+                    String[] vaccine = pick(random, VACCINES);
+                    LocalDate start = properties.getStartDate().plusDays(random.nextInt(spread));
+                    vaccinations.add(++vaccinationId, vaccine[0], vaccine[1], Date.valueOf(start),
+                            Date.valueOf(start.plusDays(Integer.parseInt(vaccine[2]))), animalBase + i, null);
+                }
+            }
+        }
+    }
+
+    private long maxId(String table) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+    }
+
+    private BatchInserter inserter(String table, String sql, BatchInserter parent) {
+        return new BatchInserter(table, sql, parent);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "05" + (30 + random.nextInt(30)) + String.format("%07d", random.nextInt(10_000_000));
+    }
+
+    private static String ascii(String value) {
+        StringBuilder result = new StringBuilder(value.length());
+        for (char c : value.toLowerCase(TURKISH).toCharArray()) {
+            result.append(switch (c) {
+                case 'ç' -> 'c';
+                case 'ğ' -> 'g';
+                case 'ı' -> 'i';
+                case 'ö' -> 'o';
+                case 'ş' -> 's';
+                case 'ü' -> 'u';
+                default -> c;
+            });
+        }
+        return result.toString();
+    }
+
+    /**
+     * Satırları batchSize'a kadar biriktirir; önce parent tablonun bekleyen satırlarını yazar.
+     */
+    private final class BatchInserter implements AutoCloseable {
+
+        private final String table;
+        private final String sql;
+        private final BatchInserter parent;
+        private final List<Object[]> rows;
+        private long written;
+
+        private BatchInserter(String table, String sql, BatchInserter parent) {
+            this.table = table;
+            this.sql = sql;
+            this.parent = parent;
+            this.rows = new ArrayList<>(properties.getBatchSize());
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+            written += rows.size();
+            rows.clear();
+            if (written % 1_000_000 < properties.getBatchSize()) {
+                log.info("datagen {}: {} rows", table, written);
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+            log.info("datagen {}: {} rows written", table, written);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package simsek.ali.VeterinaryManagementProject.core.datagen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * datagen profilinin ayarları; her biri komut satırından (ör. --datagen.customers=10000) ezilebilir.
+ */
+@Component
+@Profile("datagen")
+@ConfigurationProperties(prefix = "datagen")
+@Getter
+@Setter
+public class DataGeneratorProperties {
+
+    private long seed = 42;
+    private int batchSize = 5_000;
+    private boolean exitWhenDone = true;
+
+    private long customers = 1_000;
+    private double animalsPerCustomer = 3;
+    private long doctors = 50;
+    private long appointments = 20_000;
+
+    private LocalDate startDate = LocalDate.of(2015, 1, 1);
+    private int dayStartHour = 9;
+    private int slotMinutes = 30;
+    private int slotsPerDay = 16;
+    /** Bir çalışma günündeki slotların dolu olma olasılığı. */
+    private double slotOccupancy = 0.75;
+
+    /** Randevuların rapor alma oranı. */
+    private double reportRatio = 0.6;
+    /** Raporların bir aşı kaydı doğurma oranı. */
+    private double reportVaccinationRatio = 0.5;
+    /** Rapora bağlı olmayan, hayvan başına ortalama aşı sayısı. */
+    private double vaccinationsPerAnimal = 2;
+}
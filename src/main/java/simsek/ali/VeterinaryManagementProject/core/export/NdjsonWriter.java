@@ -0,0 +1,53 @@
+package simsek.ali.VeterinaryManagementProject.core.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Satırları NDJSON olarak akıtır ve aralıklarla flush eder; alttaki OutputStream'i kapatmaz.
+ */
+public class NdjsonWriter implements Closeable {
+
+    public static final String FETCH_SIZE = "500";
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+    private int written;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    public void write(Object value) throws IOException {
+        objectWriter.writeValue(generator, value);
+        generator.writeRaw('\n');
+        if (++written % FLUSH_EVERY == 0) {
+            generator.flush();
+        }
+    }
+
+    public <T> void writeAll(Stream<T> values) throws IOException {
+        Iterator<T> iterator = values.iterator();
+        while (iterator.hasNext()) {
+            write(iterator.next());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,51 @@
+package simsek.ali.VeterinaryManagementProject.core.imports;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import simsek.ali.VeterinaryManagementProject.dto.response.ImportResultResponse;
+
+import java.util.List;
+
+/**
+ * Bir parçayı tek transaction'da yazar; parça reddedilirse satırlar tek tek denenir.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportBatchWriter {
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public <E> void write(JpaRepository<E, Long> repository, List<E> entities, List<? extends ImportRow<?>> rows, ImportResultResponse result) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.saveAll(entities);
+                repository.flush();
+                entityManager.clear();
+            });
+            result.addImported(entities.size());
+        } catch (DataAccessException e) {
+            for (int i = 0; i < entities.size(); i++) {
+                E entity = entities.get(i);
+                try {
+                    // Geri alınan denemede atanmış id'si olan varlık save ile merge edilir ve yeni bir id ile eklenir
+                    transactionTemplate.executeWithoutResult(status -> {
+                        repository.save(entity);
+                        repository.flush();
+                        entityManager.clear();
+                    });
+                    result.addImported(1);
+                } catch (DataAccessException rowError) {
+                    result.addError(rows.get(i).number(), "Kayıt yazılamadı: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+}
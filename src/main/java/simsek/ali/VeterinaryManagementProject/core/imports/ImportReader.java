@@ -0,0 +1,101 @@
+package simsek.ali.VeterinaryManagementProject.core.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.http.MediaType;
+import simsek.ali.VeterinaryManagementProject.dto.response.ImportResultResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * CSV ya da JSON (dizi veya NDJSON) dosyasını belleğe almadan {@link #CHUNK_SIZE} satırlık parçalar halinde okur.
+ * Dönüştürülemeyen satırlar hata olarak yazılır, içe aktarma devam eder.
+ */
+public class ImportReader<T> implements Closeable {
+
+    public static final int CHUNK_SIZE = 500;
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .build();
+
+    private final ObjectMapper objectMapper;
+    private final MappingIterator<JsonNode> rows;
+    private final Class<T> rowType;
+    private long rowNumber;
+    private boolean broken;
+
+    private ImportReader(ObjectMapper objectMapper, MappingIterator<JsonNode> rows, Class<T> rowType) {
+        this.objectMapper = objectMapper;
+        this.rows = rows;
+        this.rowType = rowType;
+    }
+
+    public static <T> ImportReader<T> open(ObjectMapper objectMapper, InputStream in, MediaType contentType, Class<T> rowType) throws IOException {
+        MappingIterator<JsonNode> rows = MediaType.valueOf(TEXT_CSV_VALUE).isCompatibleWith(contentType)
+                ? CSV_MAPPER.readerFor(JsonNode.class).with(CsvSchema.emptySchema().withHeader()).readValues(in)
+                : objectMapper.readerFor(JsonNode.class).readValues(in);
+        return new ImportReader<>(objectMapper, rows, rowType);
+    }
+
+    public void forEachChunk(ImportResultResponse result, Consumer<List<ImportRow<T>>> chunkImporter) throws IOException {
+        List<ImportRow<T>> chunk = new ArrayList<>(CHUNK_SIZE);
+        ImportRow<T> row;
+        while ((row = next()) != null) {
+            if (row.error() != null) {
+                result.addError(row.number(), row.error());
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                chunkImporter.accept(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkImporter.accept(chunk);
+        }
+        result.getErrors().sort(Comparator.comparingLong(ImportResultResponse.RowError::getRow));
+    }
+
+    private ImportRow<T> next() throws IOException {
+        if (broken) {
+            return null;
+        }
+        JsonNode node;
+        try {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            node = rows.nextValue();
+        } catch (JsonProcessingException e) {
+            broken = true;
+            return ImportRow.failed(++rowNumber, "Dosya bu satırdan itibaren okunamadı: " + e.getOriginalMessage());
+        }
+
+        long number = ++rowNumber;
+        try {
+            return ImportRow.of(number, objectMapper.treeToValue(node, rowType));
+        } catch (JsonProcessingException e) {
+            return ImportRow.failed(number, "Satır okunamadı: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        rows.close();
+    }
+}
@@ -0,0 +1,15 @@
+package simsek.ali.VeterinaryManagementProject.core.imports;
+
+/**
+ * İçe aktarılan dosyadaki tek bir satır: ya okunmuş değeri ya da okunamama sebebini taşır.
+ */
+public record ImportRow<T>(long number, T value, String error) {
+
+    public static <T> ImportRow<T> of(long number, T value) {
+        return new ImportRow<>(number, value, null);
+    }
+
+    public static <T> ImportRow<T> failed(long number, String error) {
+        return new ImportRow<>(number, null, error);
+    }
+}
@@ -0,0 +1,57 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import java.util.Arrays;
+
+/**
+ * Ters indekslerin sıralı id listesi; thread-safe değildir.
+ */
+final class IdPostings {
+
+    long[] ids = new long[4];
+    int size;
+
+    void add(long id) {
+        int position = size == 0 || ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * candidates'in ilk count elemanından yalnızca bu listede de olanları başa toplar, yeni sayıyı döner.
+     */
+    int retainIn(long[] candidates, int count) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < size; i++) {
+            while (j < size && ids[j] < candidates[i]) {
+                j++;
+            }
+            if (j < size && ids[j] == candidates[i]) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        return kept;
+    }
+}
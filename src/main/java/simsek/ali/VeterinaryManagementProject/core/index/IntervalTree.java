@@ -0,0 +1,199 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+/**
+ * [start, end) aralıkları için AVL ağacı; her düğüm alt ağacındaki en büyük bitişi tutar. Aynı aralık birden fazla
+ * eklenebilir. Thread-safe değildir.
+ */
+final class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int height() {
+        return height(root);
+    }
+
+    void add(long start, long end, long tag) {
+        root = insert(root, start, end, tag);
+        size++;
+    }
+
+    /**
+     * Aynı start, end ve tag ile eklenmiş bir aralığı siler; bulunamazsa false döner.
+     */
+    boolean remove(long start, long end, long tag) {
+        int before = size;
+        root = delete(root, start, end, tag);
+        return size < before;
+    }
+
+    /**
+     * Verilen start ve tag ile başlayan bir aralık var mı (bitişinden bağımsız).
+     */
+    boolean contains(long start, long tag) {
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(start, tag, node.start, node.tag);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * [start, end) ile kesişen bir aralık var mı. Sol alt ağacın en büyük bitişi start'ı geçiyorsa ve orada kesişme
+     * yoksa, sağdaki aralıklar daha geç başladığı için onlarda da olamaz; bu yüzden tek bir yol izlemek yeterlidir.
+     */
+    boolean overlaps(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return true;
+            }
+            node = node.left != null && node.left.maxEnd > start ? node.left : node.right;
+        }
+        return false;
+    }
+
+    private Node insert(Node node, long start, long end, long tag) {
+        if (node == null) {
+            return new Node(start, end, tag);
+        }
+        int cmp = compare(start, tag, end, node);
+        if (cmp == 0) {
+            node.count++;
+            return node;
+        }
+        if (cmp < 0) {
+            node.left = insert(node.left, start, end, tag);
+        } else {
+            node.right = insert(node.right, start, end, tag);
+        }
+        return balance(node);
+    }
+
+    private Node delete(Node node, long start, long end, long tag) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, tag, end, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, end, tag);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, end, tag);
+        } else {
+            size--;
+            if (node.count > 1) {
+                node.count--;
+                return node;
+            }
+            if (node.left == null || node.right == null) {
+                return node.left != null ? node.left : node.right;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.left = node.left;
+            successor.right = node.right;
+            return balance(successor);
+        }
+        return balance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(long start, long tag, long end, Node node) {
+        int cmp = compare(start, tag, node.start, node.tag);
+        return cmp != 0 ? cmp : Long.compare(end, node.end);
+    }
+
+    private static int compare(long start, long tag, long otherStart, long otherTag) {
+        int cmp = Long.compare(start, otherStart);
+        return cmp != 0 ? cmp : Long.compare(tag, otherTag);
+    }
+
+    private static final class Node {
+
+        private final long start;
+        private final long end;
+        private final long tag;
+        private long maxEnd;
+        private int height = 1;
+        private int count = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long tag) {
+            this.start = start;
+            this.end = end;
+            this.tag = tag;
+            this.maxEnd = end;
+        }
+    }
+}
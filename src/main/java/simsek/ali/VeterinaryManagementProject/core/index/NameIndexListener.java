@@ -0,0 +1,54 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.entity.Animal;
+import simsek.ali.VeterinaryManagementProject.entity.Customer;
+import simsek.ali.VeterinaryManagementProject.entity.Doctor;
+
+/**
+ * Hayvan, müşteri ve doktor yazmalarını commit'ten sonra NameSearchIndex'e yansıtır. İndeks, EntityManagerFactory
+ * kurulurken döngüye girmemek için ilk olayda çözülür.
+ */
+@Component
+@RequiredArgsConstructor
+public class NameIndexListener {
+
+    private final ObjectProvider<NameSearchIndex> nameSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    void saved(Object entity) {
+        if (entity instanceof Animal animal) {
+            Long id = animal.getId();
+            String name = animal.getName();
+            TransactionHooks.afterCommit(() -> nameSearchIndex.getObject().put(NameSearchIndex.ANIMAL, id, name));
+        } else if (entity instanceof Customer customer) {
+            Long id = customer.getId();
+            String name = customer.getName();
+            TransactionHooks.afterCommit(() -> nameSearchIndex.getObject().put(NameSearchIndex.CUSTOMER, id, name));
+        } else if (entity instanceof Doctor doctor) {
+            Long id = doctor.getId();
+            String name = doctor.getName();
+            TransactionHooks.afterCommit(() -> nameSearchIndex.getObject().put(NameSearchIndex.DOCTOR, id, name));
+        }
+    }
+
+    @PostRemove
+    void removed(Object entity) {
+        if (entity instanceof Animal animal) {
+            Long id = animal.getId();
+            TransactionHooks.afterCommit(() -> nameSearchIndex.getObject().remove(NameSearchIndex.ANIMAL, id));
+        } else if (entity instanceof Customer customer) {
+            Long id = customer.getId();
+            TransactionHooks.afterCommit(() -> nameSearchIndex.getObject().remove(NameSearchIndex.CUSTOMER, id));
+        } else if (entity instanceof Doctor doctor) {
+            Long id = doctor.getId();
+            TransactionHooks.afterCommit(() -> nameSearchIndex.getObject().remove(NameSearchIndex.DOCTOR, id));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hayvan, müşteri ve doktor isimleri için trigram indeksleri. İlk kurulum bitene kadar isReady() false döner ve
+ * servisler LIKE sorgularına düşer.
+ */
+@Component
+@RequiredArgsConstructor
+public class NameSearchIndex implements ApplicationRunner {
+
+    /**
+     * Eşleşen id sayısı bunu aşarsa id listesiyle sorgu yerine eski LIKE sorgusu kullanılır.
+     */
+    public static final int MAX_ID_FILTER = 1000;
+
+    public static final String ANIMAL = "animal";
+    public static final String CUSTOMER = "customer";
+    public static final String DOCTOR = "doctor";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile TrigramIndex animals = new TrigramIndex();
+    private volatile TrigramIndex customers = new TrigramIndex();
+    private volatile TrigramIndex doctors = new TrigramIndex();
+    private volatile boolean ready;
+    /** Yeniden kurulum sürerken gelen yazmalar; kurulum yokken null. this ile korunur. */
+    private List<Change> pending;
+
+    /** name null ise kayıt silinir. */
+    private record Change(String table, long id, String name) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    public void rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        TrigramIndex rebuiltAnimals = new TrigramIndex();
+        TrigramIndex rebuiltCustomers = new TrigramIndex();
+        TrigramIndex rebuiltDoctors = new TrigramIndex();
+        try {
+            load(ANIMAL, rebuiltAnimals);
+            load(CUSTOMER, rebuiltCustomers);
+            load(DOCTOR, rebuiltDoctors);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (Change change : pending) {
+                index(change.table(), rebuiltAnimals, rebuiltCustomers, rebuiltDoctors).put(change.id(), change.name());
+            }
+            pending = null;
+            animals = rebuiltAnimals;
+            customers = rebuiltCustomers;
+            doctors = rebuiltDoctors;
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public TrigramIndex animals() {
+        return animals;
+    }
+
+    public TrigramIndex customers() {
+        return customers;
+    }
+
+    public TrigramIndex doctors() {
+        return doctors;
+    }
+
+    public void put(String table, long id, String name) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(new Change(table, id, name));
+            }
+            index(table, animals, customers, doctors).put(id, name);
+        }
+    }
+
+    public void remove(String table, long id) {
+        put(table, id, null);
+    }
+
+    private static TrigramIndex index(String table, TrigramIndex animals, TrigramIndex customers, TrigramIndex doctors) {
+        return switch (table) {
+            case ANIMAL -> animals;
+            case CUSTOMER -> customers;
+            case DOCTOR -> doctors;
+            default -> throw new IllegalArgumentException(table);
+        };
+    }
+
+    private void load(String table, TrigramIndex index) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("select id, name from " + table + " where name is not null");
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> index.put(rs.getLong(1), rs.getString(2)));
+    }
+}
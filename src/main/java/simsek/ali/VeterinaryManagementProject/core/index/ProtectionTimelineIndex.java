@@ -0,0 +1,139 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.repository.VaccinationRepository;
+import simsek.ali.VeterinaryManagementProject.repository.projection.VaccinationProtectionView;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Her hayvanın aşı koruyuculuk dönemlerini (ad, kod) çifti başına bir IntervalTree'de tutar; hayvan ilk
+ * sorgulandığında yüklenir. Dönemler gün bazında kapalı aralıktır.
+ */
+@Component
+public class ProtectionTimelineIndex {
+
+    private final VaccinationRepository vaccinationRepository;
+
+    private final Cache<Long, AnimalTimeline> animals;
+
+    public ProtectionTimelineIndex(VaccinationRepository vaccinationRepository,
+                                   @Value("${vetapp.vaccination.timeline-cache-size:10000}") long maximumSize,
+                                   @Value("${vetapp.vaccination.timeline-cache-ttl:10m}") Duration timeToLive) {
+        this.vaccinationRepository = vaccinationRepository;
+        this.animals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * Aynı hayvanda aynı ad ve koda sahip, verilen dönemle en az bir günü kesişen başka bir aşı var mı.
+     * excludedId güncellenen aşının kendisiyle çakışmaması içindir, yeni kayıtta null verilir.
+     */
+    public boolean overlaps(Long animalId, String name, String code, LocalDate startDate, LocalDate finishDate, Long excludedId) {
+        return timeline(animalId).overlaps(new ProtectionKey(name, code), start(startDate), end(finishDate), excludedId);
+    }
+
+    public void add(Long animalId, Long id, String name, String code, LocalDate startDate, LocalDate finishDate) {
+        // computeIfPresent sürmekte olan bir yüklemeyi beklemez; compute bekler.
+        animals.asMap().compute(animalId, (key, timeline) -> {
+            if (timeline != null) {
+                timeline.add(id, new ProtectionKey(name, code), start(startDate), end(finishDate));
+            }
+            return timeline;
+        });
+    }
+
+    public void remove(Long animalId, Long id) {
+        animals.asMap().compute(animalId, (key, timeline) -> {
+            if (timeline != null) {
+                timeline.remove(id);
+            }
+            return timeline;
+        });
+    }
+
+    /**
+     * Hemen ve transaction bitiminde bir kez daha atar; commit'ten önce başka bir isteğin yüklediği eski durum kalmaz.
+     */
+    public void evict(Long animalId) {
+        animals.invalidate(animalId);
+        TransactionHooks.afterCompletion(() -> animals.invalidate(animalId));
+    }
+
+    private AnimalTimeline timeline(Long animalId) {
+        return animals.get(animalId, this::load);
+    }
+
+    private AnimalTimeline load(Long animalId) {
+        AnimalTimeline loaded = new AnimalTimeline();
+        for (VaccinationProtectionView vaccination : vaccinationRepository.findProtectionsByAnimalId(animalId)) {
+            loaded.add(vaccination.getId(), new ProtectionKey(vaccination.getName(), vaccination.getCode()),
+                    start(vaccination.getProtectionStartDate()), end(vaccination.getProtectionFinishDate()));
+        }
+        return loaded;
+    }
+
+    private static long start(LocalDate date) {
+        return date == null ? Long.MIN_VALUE : date.toEpochDay();
+    }
+
+    private static long end(LocalDate date) {
+        return date == null ? Long.MAX_VALUE : date.toEpochDay() + 1;
+    }
+
+    private record ProtectionKey(String name, String code) {
+    }
+
+    private record Protection(ProtectionKey key, long start, long end) {
+    }
+
+    private static final class AnimalTimeline {
+
+        private final Map<ProtectionKey, IntervalTree> trees = new HashMap<>();
+        private final Map<Long, Protection> byId = new HashMap<>();
+
+        synchronized boolean overlaps(ProtectionKey key, long start, long end, Long excludedId) {
+            IntervalTree tree = trees.get(key);
+            if (tree == null) {
+                return false;
+            }
+            Protection excluded = excludedId == null ? null : byId.get(excludedId);
+            boolean removed = excluded != null && excluded.key().equals(key) && tree.remove(excluded.start(), excluded.end(), excludedId);
+            try {
+                return tree.overlaps(start, end);
+            } finally {
+                if (removed) {
+                    tree.add(excluded.start(), excluded.end(), excludedId);
+                }
+            }
+        }
+
+        synchronized void add(Long id, ProtectionKey key, long start, long end) {
+            if (byId.containsKey(id)) {
+                return;
+            }
+            byId.put(id, new Protection(key, start, end));
+            trees.computeIfAbsent(key, k -> new IntervalTree()).add(start, end, id);
+        }
+
+        synchronized void remove(Long id) {
+            Protection protection = byId.remove(id);
+            if (protection == null) {
+                return;
+            }
+            IntervalTree tree = trees.get(protection.key());
+            tree.remove(protection.start(), protection.end(), id);
+            if (tree.size() == 0) {
+                trees.remove(protection.key());
+            }
+        }
+    }
+}
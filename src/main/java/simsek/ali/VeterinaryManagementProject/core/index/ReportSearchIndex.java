@@ -0,0 +1,331 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Rapor başlığı ve tanısı üzerinde BM25 puanlı ters indeks. Boşlukla ayrılan terimler VE, "OR" ile ayrılan gruplar
+ * VEYA ile birleşir; randevu tarihi ve doktor filtreleri rapor tablosu okunmadan uygulanır.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportSearchIndex implements ApplicationRunner {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Corpus corpus = new Corpus();
+    /** Yeniden kurulum sürerken gelen yazmalar; kurulum yokken null. lock ile korunur. */
+    private List<Consumer<Corpus>> pending;
+    private volatile boolean ready;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    /**
+     * Tarama kilitsiz yapılır; sürerken gelen yazmalar yeni Corpus'a da uygulanır.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Corpus rebuilt = new Corpus();
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("select r.id, r.title, r.diagnosis, a.id, a.appointment_date, a.doctor_id " +
+                        "from report r left join appointment a on a.id = r.appointment_id");
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                Timestamp appointmentDate = rs.getTimestamp(5);
+                rebuilt.put(rs.getLong(1), document(rs.getString(2), rs.getString(3), rs.getObject(4, Long.class),
+                        appointmentDate != null ? appointmentDate.toLocalDateTime() : null, rs.getObject(6, Long.class)));
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            corpus = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Raporu ekler ya da var olan kaydın terimlerini ve randevu bilgisini yeniler.
+     */
+    public void put(Long id, String title, String diagnosis, Long appointmentId, LocalDateTime appointmentDate, Long doctorId) {
+        Document document = document(title, diagnosis, appointmentId, appointmentDate, doctorId);
+        write(corpus -> corpus.put(id, document));
+    }
+
+    public void remove(Long id) {
+        write(corpus -> corpus.remove(id));
+    }
+
+    /**
+     * Randevusu başka bir güne veya doktora taşınan raporun filtre bilgisini günceller.
+     */
+    public void moveAppointment(Long appointmentId, LocalDateTime appointmentDate, Long doctorId) {
+        write(corpus -> corpus.moveAppointment(appointmentId, appointmentDate, doctorId));
+    }
+
+    private void write(Consumer<Corpus> change) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(change);
+            }
+            change.accept(corpus);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Document document(String title, String diagnosis, Long appointmentId, LocalDateTime appointmentDate, Long doctorId) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            frequencies.merge(fold(term), TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(diagnosis)) {
+            frequencies.merge(fold(term), 1, Integer::sum);
+        }
+        return new Document(appointmentId, appointmentDate, doctorId, frequencies,
+                frequencies.values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    /**
+     * Sorguya uyan ve filtrelerden geçen rapor id'leri, puanı yüksek olan önce (eşitlikte yeni rapor önce).
+     * startDate ve endDate randevu gününe göre kapsayıcıdır; null verilen filtre uygulanmaz.
+     */
+    public long[] search(String query, Long doctorId, LocalDate startDate, LocalDate endDate) {
+        List<List<String>> groups = parse(query).stream()
+                .map(group -> group.stream().map(ReportSearchIndex::fold).toList())
+                .toList();
+        if (groups.isEmpty()) {
+            return new long[0];
+        }
+        LocalDateTime from = startDate != null ? startDate.atStartOfDay() : null;
+        LocalDateTime to = endDate != null ? endDate.plusDays(1).atStartOfDay() : null;
+
+        lock.readLock().lock();
+        try {
+            Corpus corpus = this.corpus;
+            Set<Long> matches = new LinkedHashSet<>();
+            for (List<String> group : groups) {
+                for (long id : corpus.matchAll(group)) {
+                    matches.add(id);
+                }
+            }
+
+            Set<String> terms = new LinkedHashSet<>();
+            groups.forEach(terms::addAll);
+            double averageLength = corpus.documents.isEmpty() ? 1 : (double) corpus.totalLength / corpus.documents.size();
+
+            List<Scored> scored = new ArrayList<>(matches.size());
+            for (Long id : matches) {
+                Document document = corpus.documents.get(id);
+                if (document.matches(doctorId, from, to)) {
+                    scored.add(new Scored(id, corpus.score(document, terms, averageLength)));
+                }
+            }
+            scored.sort(Comparator.comparingDouble(Scored::score).reversed().thenComparing(Comparator.comparingLong(Scored::id).reversed()));
+            return scored.stream().mapToLong(Scored::id).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * "OR" (ya da "|") ile ayrılmış grupların her biri VE ile birleşen terim listesidir; "AND" yazılması serbesttir.
+     */
+    public static List<List<String>> parse(String query) {
+        List<List<String>> groups = new ArrayList<>();
+        if (query == null) {
+            return groups;
+        }
+        List<String> group = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            if (word.equals("OR") || word.equals("|")) {
+                if (!group.isEmpty()) {
+                    groups.add(group);
+                    group = new ArrayList<>();
+                }
+            } else if (!word.equals("AND")) {
+                group.addAll(tokenize(word));
+            }
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * "İ" gibi harflerin küçük harfte ayrışan işaretleri terimi bölmez. Veritabanı araması bu terimleri olduğu gibi kullanır.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * "İshal", "ishal" ve "Ishal" aynı terim olur; "aşı" ile "asi" de.
+     */
+    static String fold(String term) {
+        return MARKS.matcher(Normalizer.normalize(term, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * İndeksin tüm durumu; erişim lock ile korunur.
+     */
+    private static final class Corpus {
+
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<String, IdPostings> postings = new HashMap<>();
+        private final Map<Long, Long> reportByAppointment = new HashMap<>();
+        private long totalLength;
+
+        void put(Long id, Document document) {
+            remove(id);
+            documents.put(id, document);
+            totalLength += document.length();
+            document.frequencies().keySet().forEach(term -> postings.computeIfAbsent(term, key -> new IdPostings()).add(id));
+            if (document.appointmentId() != null) {
+                reportByAppointment.put(document.appointmentId(), id);
+            }
+        }
+
+        void moveAppointment(Long appointmentId, LocalDateTime appointmentDate, Long doctorId) {
+            Long reportId = reportByAppointment.get(appointmentId);
+            Document document = reportId != null ? documents.get(reportId) : null;
+            if (document != null) {
+                documents.put(reportId, new Document(appointmentId, appointmentDate, doctorId, document.frequencies(), document.length()));
+            }
+        }
+
+        long[] matchAll(List<String> terms) {
+            List<IdPostings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                IdPostings list = postings.get(term);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            long[] candidates = lists.get(0).toArray();
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retainIn(candidates, count);
+            }
+            return Arrays.copyOf(candidates, count);
+        }
+
+        double score(Document document, Set<String> terms, double averageLength) {
+            double score = 0;
+            for (String term : terms) {
+                Integer frequency = document.frequencies().get(term);
+                if (frequency == null) {
+                    continue;
+                }
+                int documentFrequency = postings.get(term).size;
+                double idf = Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                score += idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * document.length() / averageLength));
+            }
+            return score;
+        }
+
+        void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            totalLength -= document.length();
+            for (String term : document.frequencies().keySet()) {
+                IdPostings list = postings.get(term);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            if (document.appointmentId() != null) {
+                reportByAppointment.remove(document.appointmentId(), id);
+            }
+        }
+    }
+
+    private record Document(Long appointmentId, LocalDateTime appointmentDate, Long doctorId,
+                            Map<String, Integer> frequencies, int length) {
+
+        boolean matches(Long doctorId, LocalDateTime from, LocalDateTime to) {
+            if (doctorId != null && !doctorId.equals(this.doctorId)) {
+                return false;
+            }
+            if ((from != null || to != null) && appointmentDate == null) {
+                return false;
+            }
+            return (from == null || !appointmentDate.isBefore(from)) && (to == null || appointmentDate.isBefore(to));
+        }
+    }
+
+    private record Scored(long id, double score) {
+    }
+}
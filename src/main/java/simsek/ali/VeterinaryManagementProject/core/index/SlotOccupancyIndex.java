@@ -0,0 +1,173 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.core.config.ScheduleProperties;
+import simsek.ali.VeterinaryManagementProject.repository.AppointmentRepository;
+import simsek.ali.VeterinaryManagementProject.repository.WorkDayRepository;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AppointmentSlotView;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Doktor + gün bazında randevu aralıklarını ve çalışma gününü bellekte tutar; gün ilk sorgulandığında yüklenir.
+ * Servis dışından yapılan yazmalar (import, datagen, elle SQL) en geç vetapp.booking.slot-cache-ttl sonunda görülür.
+ */
+@Component
+public class SlotOccupancyIndex {
+
+    private static final long EPOCH_DAY_MASK = (1L << 22) - 1;
+
+    private final AppointmentRepository appointmentRepository;
+    private final WorkDayRepository workDayRepository;
+    private final ScheduleProperties scheduleProperties;
+
+    private final Cache<Long, DaySlots> days;
+
+    public SlotOccupancyIndex(AppointmentRepository appointmentRepository,
+                              WorkDayRepository workDayRepository,
+                              ScheduleProperties scheduleProperties,
+                              @Value("${vetapp.booking.slot-cache-size:20000}") long maximumSize,
+                              @Value("${vetapp.booking.slot-cache-ttl:10m}") Duration timeToLive) {
+        this.appointmentRepository = appointmentRepository;
+        this.workDayRepository = workDayRepository;
+        this.scheduleProperties = scheduleProperties;
+        this.days = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(expireAfterLoad(timeToLive))
+                .build();
+    }
+
+    public enum SlotStatus {
+        AVAILABLE,
+        DUPLICATE,
+        DOCTOR_NOT_WORKING,
+        TAKEN
+    }
+
+    public SlotStatus status(Long doctorId, LocalDateTime appointmentDate, Duration duration, Long animalId) {
+        long start = appointmentDate.toLocalTime().toNanoOfDay();
+        return daySlots(doctorId, appointmentDate.toLocalDate()).status(start, start + duration.toNanos(), animalId);
+    }
+
+    /**
+     * Gün yüklü değilse bir şey yapılmaz; o anda yükleniyorsa yükleme beklenir.
+     */
+    public void book(Long doctorId, LocalDateTime appointmentDate, Duration duration, Long animalId) {
+        long start = appointmentDate.toLocalTime().toNanoOfDay();
+        days.asMap().compute(key(doctorId, appointmentDate.toLocalDate()), (key, slots) -> {
+            if (slots != null) {
+                slots.add(start, start + duration.toNanos(), animalId);
+            }
+            return slots;
+        });
+    }
+
+    /**
+     * Gün henüz yüklenmemişse önce yüklenir; güncellemede eski aralık, yeni aralık kontrol edilmeden önce çıkarılabilsin diye.
+     */
+    public void release(Long doctorId, LocalDateTime appointmentDate, Duration duration, Long animalId) {
+        long start = appointmentDate.toLocalTime().toNanoOfDay();
+        LocalDate date = appointmentDate.toLocalDate();
+        days.asMap().compute(key(doctorId, date), (key, slots) -> {
+            DaySlots loaded = slots != null ? slots : load(doctorId, date);
+            loaded.remove(start, start + duration.toNanos(), animalId);
+            return loaded;
+        });
+    }
+
+    /**
+     * Günü veritabanından yeniden okur; çağıran günün kilidini tutmalıdır.
+     */
+    public void reload(Long doctorId, LocalDate date) {
+        days.asMap().compute(key(doctorId, date), (key, slots) -> load(doctorId, date));
+    }
+
+    public void setWorkDay(Long doctorId, LocalDate workDay, boolean works) {
+        days.asMap().compute(key(doctorId, workDay), (key, slots) -> {
+            if (slots != null) {
+                slots.works = works;
+            }
+            return slots;
+        });
+    }
+
+    public void evictDoctor(Long doctorId) {
+        days.asMap().keySet().removeIf(key -> (key >>> 22) == doctorId);
+    }
+
+    private DaySlots daySlots(Long doctorId, LocalDate date) {
+        return days.get(key(doctorId, date), key -> load(doctorId, date));
+    }
+
+    private DaySlots load(Long doctorId, LocalDate date) {
+        DaySlots loaded = new DaySlots();
+        loaded.works = workDayRepository.existsByDoctorIdAndWorkDay(doctorId, date);
+        for (AppointmentSlotView slot : appointmentRepository.findSlotsByDoctorIdAndDateRange(doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+            long start = slot.getAppointmentDate().toLocalTime().toNanoOfDay();
+            loaded.add(start, start + scheduleProperties.duration(slot.getDurationMinutes()).toNanos(), slot.getAnimalId());
+        }
+        return loaded;
+    }
+
+    /**
+     * Süre yüklemeden itibaren sayılır; book/release ile yerinde güncellenen günler de zamanı gelince yeniden okunur.
+     */
+    private static Expiry<Long, DaySlots> expireAfterLoad(Duration timeToLive) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Long key, DaySlots slots, long currentTime) {
+                return timeToLive.toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(Long key, DaySlots slots, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(Long key, DaySlots slots, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static long key(long doctorId, LocalDate date) {
+        return (doctorId << 22) | (date.toEpochDay() & EPOCH_DAY_MASK);
+    }
+
+    private static final class DaySlots {
+
+        private volatile boolean works;
+        private final IntervalTree appointments = new IntervalTree();
+
+        synchronized SlotStatus status(long start, long end, Long animalId) {
+            if (animalId != null && appointments.contains(start, animalId)) {
+                return SlotStatus.DUPLICATE;
+            }
+            if (!works) {
+                return SlotStatus.DOCTOR_NOT_WORKING;
+            }
+            return appointments.overlaps(start, end) ? SlotStatus.TAKEN : SlotStatus.AVAILABLE;
+        }
+
+        /**
+         * Aynı hayvanın aynı saatte ikinci randevusu olamayacağı için, yüklemenin zaten okuduğu bir kayıt tekrar eklenmez.
+         */
+        synchronized void add(long start, long end, Long animalId) {
+            if (animalId != null && appointments.contains(start, animalId)) {
+                return;
+            }
+            appointments.add(start, end, animalId == null ? -1 : animalId);
+        }
+
+        synchronized void remove(long start, long end, Long animalId) {
+            appointments.remove(start, end, animalId == null ? -1 : animalId);
+        }
+    }
+}
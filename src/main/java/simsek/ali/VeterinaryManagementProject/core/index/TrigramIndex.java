@@ -0,0 +1,144 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Büyük/küçük harf duyarsız "içerir" araması için trigram indeksi; sonuç upper(name) like upper('%q%') ile aynıdır.
+ * Üç karakterden kısa sorgular isimler taranarak cevaplanır.
+ */
+public final class TrigramIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, IdPostings> postings = new HashMap<>();
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Kaydı ekler ya da ismi değiştiyse eski parçalarından çıkarıp yenilerine ekler. İsmi null olan kayıt indekslenmez.
+     */
+    public void put(long id, String name) {
+        lock.writeLock().lock();
+        try {
+            String normalized = normalize(name);
+            String previous = names.get(id);
+            if (previous != null && previous.equals(normalized)) {
+                return;
+            }
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            if (normalized != null) {
+                names.put(id, normalized);
+                for (long trigram : trigrams(normalized)) {
+                    postings.computeIfAbsent(trigram, key -> new IdPostings()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = names.get(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * İsmi query'yi içeren kayıtların id'leri, artan sırada.
+     */
+    public long[] search(String query) {
+        String normalized = normalize(query == null ? "" : query);
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < 3) {
+                return scan(normalized);
+            }
+
+            List<IdPostings> lists = new ArrayList<>();
+            for (long trigram : trigrams(normalized)) {
+                IdPostings list = postings.get(trigram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            long[] candidates = lists.get(0).toArray();
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retainIn(candidates, count);
+            }
+
+            int matched = 0;
+            for (int i = 0; i < count; i++) {
+                if (names.get(candidates[i]).contains(normalized)) {
+                    candidates[matched++] = candidates[i];
+                }
+            }
+            return Arrays.copyOf(candidates, matched);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] scan(String normalized) {
+        long[] ids = new long[names.size()];
+        int count = 0;
+        for (Map.Entry<Long, String> entry : names.entrySet()) {
+            if (entry.getValue().contains(normalized)) {
+                ids[count++] = entry.getKey();
+            }
+        }
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private void unindex(long id, String name) {
+        names.remove(id);
+        for (long trigram : trigrams(name)) {
+            IdPostings list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static Set<Long> trigrams(String normalized) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            trigrams.add(((long) normalized.charAt(i) << 32) | ((long) normalized.charAt(i + 1) << 16) | normalized.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toUpperCase(Locale.ROOT);
+    }
+}
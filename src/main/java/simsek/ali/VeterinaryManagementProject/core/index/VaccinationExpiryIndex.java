@@ -0,0 +1,192 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Koruyuculuk bitiş gününden o gün biten aşı id'lerine giden indeks; tarih aralığı sorgularının sayısı ve sayfa
+ * id'leri buradan gelir. Kovalar kopyalanarak değiştirildiği için okumalar kilit almaz.
+ */
+@Component
+@RequiredArgsConstructor
+public class VaccinationExpiryIndex implements ApplicationRunner {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile ConcurrentSkipListMap<Long, long[]> buckets = new ConcurrentSkipListMap<>();
+    private volatile boolean ready;
+    /** Yeniden kurulum sürerken gelen yazmalar; kurulum yokken null. this ile korunur. */
+    private List<Change> pending;
+
+    private record Change(long id, LocalDate finishDate, boolean added) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    /**
+     * Tarama ayrı bir haritaya yapılır; sürerken gelen yazmalar sıraya alınıp sonunda ona da uygulanır. Böylece tarama
+     * sırasında silinen bir aşı geri dönmez.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        ConcurrentSkipListMap<Long, long[]> rebuilt = new ConcurrentSkipListMap<>();
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement("select id, protection_finish_date from vaccination where protection_finish_date is not null");
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> add(rebuilt, rs.getLong(1), rs.getDate(2).toLocalDate()));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (Change change : pending) {
+                if (change.added()) {
+                    add(rebuilt, change.id(), change.finishDate());
+                } else {
+                    remove(rebuilt, change.id(), change.finishDate());
+                }
+            }
+            pending = null;
+            buckets = rebuilt;
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long count(LocalDate startDate, LocalDate endDate) {
+        long count = 0;
+        for (long[] ids : range(startDate, endDate).values()) {
+            count += ids.length;
+        }
+        return count;
+    }
+
+    /**
+     * Aralıktaki aşıları bitiş tarihi, sonra id sırasıyla dizildiğinde offset'ten başlayan en fazla limit id.
+     */
+    public List<Long> ids(LocalDate startDate, LocalDate endDate, long offset, int limit) {
+        List<Long> page = new ArrayList<>(Math.min(limit, 1024));
+        long skip = offset;
+        for (long[] ids : range(startDate, endDate).values()) {
+            if (skip >= ids.length) {
+                skip -= ids.length;
+                continue;
+            }
+            for (int i = (int) skip; i < ids.length && page.size() < limit; i++) {
+                page.add(ids[i]);
+            }
+            skip = 0;
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    public void add(Long id, LocalDate finishDate) {
+        if (id == null || finishDate == null) {
+            return;
+        }
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(new Change(id, finishDate, true));
+            }
+            add(buckets, id, finishDate);
+        }
+    }
+
+    public void remove(Long id, LocalDate finishDate) {
+        if (id == null || finishDate == null) {
+            return;
+        }
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(new Change(id, finishDate, false));
+            }
+            remove(buckets, id, finishDate);
+        }
+    }
+
+    private static void add(ConcurrentSkipListMap<Long, long[]> buckets, long id, LocalDate finishDate) {
+        buckets.compute(finishDate.toEpochDay(), (day, ids) -> {
+            if (ids == null) {
+                return new long[]{id};
+            }
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                return ids;
+            }
+            int insertAt = -position - 1;
+            long[] grown = new long[ids.length + 1];
+            System.arraycopy(ids, 0, grown, 0, insertAt);
+            grown[insertAt] = id;
+            System.arraycopy(ids, insertAt, grown, insertAt + 1, ids.length - insertAt);
+            return grown;
+        });
+    }
+
+    private static void remove(ConcurrentSkipListMap<Long, long[]> buckets, long id, LocalDate finishDate) {
+        buckets.computeIfPresent(finishDate.toEpochDay(), (day, ids) -> {
+            int position = Arrays.binarySearch(ids, id);
+            if (position < 0) {
+                return ids;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] shrunk = new long[ids.length - 1];
+            System.arraycopy(ids, 0, shrunk, 0, position);
+            System.arraycopy(ids, position + 1, shrunk, position, ids.length - position - 1);
+            return shrunk;
+        });
+    }
+
+    /**
+     * Bitiş tarihi değişen bir aşıyı taşır; transaction içindeysek commit'ten sonra.
+     */
+    public void move(Long id, LocalDate previousFinishDate, LocalDate finishDate) {
+        if (Objects.equals(previousFinishDate, finishDate)) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            remove(id, previousFinishDate);
+            add(id, finishDate);
+        });
+    }
+
+    private NavigableMap<Long, long[]> range(LocalDate startDate, LocalDate endDate) {
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        if (start > end) {
+            return new ConcurrentSkipListMap<>();
+        }
+        return buckets.subMap(start, true, end, true);
+    }
+}
@@ -0,0 +1,51 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.entity.Vaccination;
+
+import java.time.LocalDate;
+
+/**
+ * Eklenen ve silinen (cascade dahil) aşıları commit'ten sonra ProtectionTimelineIndex ve VaccinationExpiryIndex'e
+ * yansıtır; güncellemeleri eski değerleri bilen servis işler.
+ */
+@Component
+@RequiredArgsConstructor
+public class VaccinationIndexListener {
+
+    private final ObjectProvider<ProtectionTimelineIndex> protectionTimelineIndex;
+    private final ObjectProvider<VaccinationExpiryIndex> vaccinationExpiryIndex;
+
+    @PostPersist
+    void added(Vaccination vaccination) {
+        Long id = vaccination.getId();
+        Long animalId = vaccination.getAnimal() == null ? null : vaccination.getAnimal().getId();
+        String name = vaccination.getName();
+        String code = vaccination.getCode();
+        LocalDate startDate = vaccination.getProtectionStartDate();
+        LocalDate finishDate = vaccination.getProtectionFinishDate();
+        TransactionHooks.afterCommit(() -> {
+            vaccinationExpiryIndex.getObject().add(id, finishDate);
+            if (animalId != null) {
+                protectionTimelineIndex.getObject().add(animalId, id, name, code, startDate, finishDate);
+            }
+        });
+    }
+
+    @PostRemove
+    void removed(Vaccination vaccination) {
+        Long id = vaccination.getId();
+        Long animalId = vaccination.getAnimal() == null ? null : vaccination.getAnimal().getId();
+        LocalDate finishDate = vaccination.getProtectionFinishDate();
+        TransactionHooks.afterCommit(() -> {
+            vaccinationExpiryIndex.getObject().remove(id, finishDate);
+            if (animalId != null) {
+                protectionTimelineIndex.getObject().remove(animalId, id);
+            }
+        });
+    }
+}
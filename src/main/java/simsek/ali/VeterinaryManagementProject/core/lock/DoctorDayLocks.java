@@ -0,0 +1,113 @@
+package simsek.ali.VeterinaryManagementProject.core.lock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Aynı doktor ve günü hedefleyen randevu yazmalarını sıraya sokar; farklı doktor/gün çiftleri paralel ilerler.
+ * vetapp.booking.advisory-locks=true ile pg_advisory_xact_lock da alınır; o zaman bellekteki gün veritabanından
+ * yeniden okunmalıdır (bkz. isAdvisory). Randevu kilidi her zaman gün kilitlerinden önce alınır.
+ */
+@Component
+public class DoctorDayLocks {
+
+    private final ReentrantLock[] stripes;
+    private final ReentrantLock[] appointmentStripes;
+    private final boolean advisoryLocks;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public DoctorDayLocks(@Value("${vetapp.booking.lock-stripes:1024}") int stripeCount,
+                          @Value("${vetapp.booking.advisory-locks:false}") boolean advisoryLocks,
+                          JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate) {
+        this.stripes = newStripes(stripeCount);
+        this.appointmentStripes = newStripes(stripeCount);
+        this.advisoryLocks = advisoryLocks;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public record Key(Long doctorId, LocalDate day) {
+    }
+
+    public boolean isAdvisory() {
+        return advisoryLocks;
+    }
+
+    public <T> T withLock(Long doctorId, LocalDate day, Supplier<T> action) {
+        return withLocks(stripes, new long[]{key(doctorId, day)}, action);
+    }
+
+    /**
+     * Randevu başka bir doktora veya güne taşınırken hem eski hem yeni anahtar kilitlenir.
+     */
+    public <T> T withLock(Long doctorId, LocalDate day, Long otherDoctorId, LocalDate otherDay, Supplier<T> action) {
+        return withLocks(stripes, new long[]{key(doctorId, day), key(otherDoctorId, otherDay)}, action);
+    }
+
+    /**
+     * Toplu randevu yerleştirmede yazılacak tüm doktor/gün çiftleri birlikte kilitlenir.
+     */
+    public <T> T withLocks(Collection<Key> keys, Supplier<T> action) {
+        return withLocks(stripes, keys.stream().mapToLong(key -> key(key.doctorId(), key.day())).toArray(), action);
+    }
+
+    /**
+     * Randevu id'sine göre kilitler; advisory kilitler açıksa action'ın açtığı transaction içinde, gün kilitleri de
+     * aynı transaction'a katılır.
+     */
+    public <T> T withAppointmentLock(Long appointmentId, Supplier<T> action) {
+        // Gün anahtarları pozitiftir; işaret biti randevu anahtarlarını advisory kilit uzayında onlardan ayırır.
+        return withLocks(appointmentStripes, new long[]{Long.MIN_VALUE | appointmentId}, action);
+    }
+
+    private <T> T withLocks(ReentrantLock[] stripes, long[] keys, Supplier<T> action) {
+        // Kilitler hep aynı sırada alınır, iki anahtarlı çağrılar birbirini kilitleyemez.
+        int[] indexes = Arrays.stream(keys).mapToInt(key -> stripe(key, stripes.length)).distinct().sorted().toArray();
+        for (int i = 0; i < indexes.length; i++) {
+            stripes[indexes[i]].lock();
+        }
+        try {
+            if (!advisoryLocks) {
+                return action.get();
+            }
+            long[] sortedKeys = Arrays.stream(keys).distinct().sorted().toArray();
+            return transactionTemplate.execute(status -> {
+                for (long key : sortedKeys) {
+                    jdbcTemplate.query("select pg_advisory_xact_lock(?)", rs -> null, key);
+                }
+                return action.get();
+            });
+        } finally {
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private static ReentrantLock[] newStripes(int stripeCount) {
+        ReentrantLock[] locks = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private static int stripe(long key, int stripeCount) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (stripeCount - 1);
+    }
+
+    private static long key(Long doctorId, LocalDate day) {
+        return (doctorId << 22) | (day.toEpochDay() & ((1L << 22) - 1));
+    }
+}
@@ -0,0 +1,63 @@
+package simsek.ali.VeterinaryManagementProject.core.pagination;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bellekteki bir indeksin sıralı id dizisinden sayfa üretir; veritabanından yalnızca sayfanın id'leri okunur.
+ */
+public final class IdPages {
+
+    private IdPages() {
+    }
+
+    public static <T> Slice<T> of(long[] ids, Pageable pageable, boolean withTotal,
+                                  Function<List<Long>, ? extends Collection<T>> loader, Function<T, Long> idOf) {
+        int from = (int) Math.min(pageable.getOffset(), ids.length);
+        int to = Math.min(from + pageable.getPageSize(), ids.length);
+
+        List<T> content = new ArrayList<>(to - from);
+        if (from < to) {
+            Map<Long, T> rowsById = new HashMap<>();
+            for (T row : loader.apply(toList(ids, from, to))) {
+                rowsById.put(idOf.apply(row), row);
+            }
+            for (int i = from; i < to; i++) {
+                T row = rowsById.get(ids[i]);
+                if (row != null) {
+                    content.add(row);
+                }
+            }
+        }
+
+        if (withTotal) {
+            return new PageImpl<>(content, pageable, ids.length);
+        }
+        return new SliceImpl<>(content, pageable, to < ids.length);
+    }
+
+    public static <T> Slice<T> empty(Pageable pageable, boolean withTotal) {
+        return withTotal ? new PageImpl<>(List.of(), pageable, 0) : new SliceImpl<>(List.of(), pageable, false);
+    }
+
+    public static List<Long> toList(long[] ids) {
+        return toList(ids, 0, ids.length);
+    }
+
+    private static List<Long> toList(long[] ids, int from, int to) {
+        List<Long> list = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            list.add(ids[i]);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,83 @@
+package simsek.ali.VeterinaryManagementProject.core.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import simsek.ali.VeterinaryManagementProject.dto.response.CursorPageResponse;
+import simsek.ali.VeterinaryManagementProject.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset sıralamasını ve bu sıralamaya ait opak imleci (base64 "değer|id") tanımlar.
+ */
+public final class KeysetCursor {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+
+    private final String property;
+    private final Function<String, ?> parser;
+
+    private KeysetCursor(String property, Function<String, ?> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    public static KeysetCursor byId() {
+        return new KeysetCursor(null, null);
+    }
+
+    public static KeysetCursor by(String property, Function<String, ?> parser) {
+        return new KeysetCursor(property, parser);
+    }
+
+    public Sort sort() {
+        return property == null ? Sort.by(ID) : Sort.by(property, ID);
+    }
+
+    public Limit limit(int limit) {
+        return Limit.of(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    public ScrollPosition position(String after) {
+        if (after == null || after.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (property == null) {
+                keys.put(ID, Long.valueOf(decoded));
+            } else {
+                int separator = decoded.lastIndexOf(SEPARATOR);
+                keys.put(property, parser.apply(decoded.substring(0, separator)));
+                keys.put(ID, Long.valueOf(decoded.substring(separator + 1)));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException exception) {
+            throw new InvalidCursorException(after);
+        }
+    }
+
+    public <T> CursorPageResponse<T> toResponse(Window<T> window) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            Map<String, ?> keys = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys();
+            String raw = property == null
+                    ? String.valueOf(keys.get(ID))
+                    : keys.get(property) + SEPARATOR + keys.get(ID);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return new CursorPageResponse<>(window.getContent(), window.size(), window.hasNext(), nextCursor);
+    }
+}
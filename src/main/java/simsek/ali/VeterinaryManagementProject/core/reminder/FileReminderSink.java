@@ -0,0 +1,47 @@
+package simsek.ali.VeterinaryManagementProject.core.reminder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.core.export.NdjsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Hatırlatmaları vetapp.reminders.directory altındaki reminders-&lt;tarih&gt;.ndjson dosyasına, her satıra bir müşteri
+ * olacak şekilde ekler.
+ */
+@Component
+@ConditionalOnProperty(name = "vetapp.reminders.sink", havingValue = "file", matchIfMissing = true)
+@RequiredArgsConstructor
+public class FileReminderSink implements ReminderSink {
+
+    private final ReminderProperties reminderProperties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Batch open(LocalDate runDate) throws IOException {
+        Files.createDirectories(reminderProperties.getDirectory());
+        OutputStream out = Files.newOutputStream(reminderProperties.getDirectory().resolve("reminders-" + runDate + ".ndjson"),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+        return new Batch() {
+            @Override
+            public void write(VaccinationReminder reminder) throws IOException {
+                writer.write(reminder);
+            }
+
+            @Override
+            public void close() throws IOException {
+                try (out) {
+                    writer.close();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package simsek.ali.VeterinaryManagementProject.core.reminder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Hatırlatmaları bellekteki bir kuyrukta tutar (vetapp.reminders.sink=memory); batch kapanınca eklenir.
+ */
+@Component
+@ConditionalOnProperty(name = "vetapp.reminders.sink", havingValue = "memory")
+public class InMemoryReminderSink implements ReminderSink {
+
+    private final BlockingQueue<VaccinationReminder> queue = new LinkedBlockingQueue<>();
+
+    public BlockingQueue<VaccinationReminder> getQueue() {
+        return queue;
+    }
+
+    @Override
+    public Batch open(LocalDate runDate) {
+        List<VaccinationReminder> pending = new ArrayList<>();
+        return new Batch() {
+            @Override
+            public void write(VaccinationReminder reminder) {
+                pending.add(reminder);
+            }
+
+            @Override
+            public void close() {
+                queue.addAll(pending);
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package simsek.ali.VeterinaryManagementProject.core.reminder;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Aşı hatırlatma akışının ayarları (vetapp.reminders.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "vetapp.reminders")
+@Getter
+@Setter
+public class ReminderProperties {
+
+    private boolean enabled = true;
+    private String cron = "0 0 2 * * *";
+    /** Koruyuculuğu bugünden itibaren bu kadar gün içinde bitecek aşılar için hatırlatma üretilir. */
+    private int daysAhead = 30;
+    /** file: her çalışma için directory altına bir NDJSON dosyası, memory: bellekteki kuyruk. */
+    private String sink = "file";
+    private Path directory = Path.of("reminders");
+}
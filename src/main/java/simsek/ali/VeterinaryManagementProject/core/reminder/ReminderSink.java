@@ -0,0 +1,18 @@
+package simsek.ali.VeterinaryManagementProject.core.reminder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Hatırlatmaların yazıldığı hedef; batch hatasız kapanmadan aşılar gönderildi sayılmaz.
+ */
+public interface ReminderSink {
+
+    Batch open(LocalDate runDate) throws IOException;
+
+    interface Batch extends Closeable {
+
+        void write(VaccinationReminder reminder) throws IOException;
+    }
+}
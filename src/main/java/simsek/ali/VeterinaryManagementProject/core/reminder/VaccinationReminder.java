@@ -0,0 +1,15 @@
+package simsek.ali.VeterinaryManagementProject.core.reminder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bir müşteriye, hayvanlarının koruyuculuğu yakında bitecek aşıları için gönderilecek tek hatırlatma.
+ */
+public record VaccinationReminder(Long customerId, String customerName, String customerEmail, String customerPhone,
+                                  List<DueVaccination> vaccinations) {
+
+    public record DueVaccination(Long vaccinationId, String name, String code, LocalDate protectionFinishDate,
+                                 Long animalId, String animalName) {
+    }
+}
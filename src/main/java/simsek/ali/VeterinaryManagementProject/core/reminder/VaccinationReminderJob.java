@@ -0,0 +1,32 @@
+package simsek.ali.VeterinaryManagementProject.core.reminder;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.service.VaccinationReminderService;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Aşı hatırlatma akışını vetapp.reminders.cron zamanlamasıyla çalıştırır; vetapp.reminders.enabled=false ile kapatılır.
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "vetapp.reminders.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class VaccinationReminderJob {
+
+    private final VaccinationReminderService vaccinationReminderService;
+
+    @Scheduled(cron = "${vetapp.reminders.cron:0 0 2 * * *}")
+    public void run() throws IOException {
+        long started = System.nanoTime();
+        int emitted = vaccinationReminderService.emitDueReminders(LocalDate.now());
+        log.info("vaccination reminders: {} vaccinations emitted in {} ms", emitted, (System.nanoTime() - started) / 1_000_000);
+    }
+}
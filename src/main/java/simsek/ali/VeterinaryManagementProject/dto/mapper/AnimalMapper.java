@@ -0,0 +1,64 @@
+package simsek.ali.VeterinaryManagementProject.dto.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.dto.request.AnimalImportRequest;
+import simsek.ali.VeterinaryManagementProject.dto.request.AnimalRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.AnimalResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.CustomerResponse;
+import simsek.ali.VeterinaryManagementProject.entity.Animal;
+import simsek.ali.VeterinaryManagementProject.entity.Customer;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AnimalView;
+
+@Component
+@RequiredArgsConstructor
+public class AnimalMapper {
+
+    private final CustomerMapper customerMapper;
+
+    public AnimalResponse toResponse(Animal animal) {
+        return new AnimalResponse(animal.getId(), animal.getName(), animal.getSpecies(), animal.getBreed(),
+                animal.getGender(), animal.getColour(), animal.getDateOfBirth(),
+                animal.getCustomer() != null ? customerMapper.toResponse(animal.getCustomer()) : null);
+    }
+
+    public AnimalResponse toResponse(AnimalView animal) {
+        return new AnimalResponse(animal.id(), animal.name(), animal.species(), animal.breed(),
+                animal.gender(), animal.colour(), animal.dateOfBirth(),
+                animal.customerId() != null
+                        ? new CustomerResponse(animal.customerId(), animal.customerName(), animal.customerPhone(),
+                                animal.customerEmail(), animal.customerAddress(), animal.customerCity())
+                        : null);
+    }
+
+    public Animal toEntity(AnimalRequest animalRequest) {
+        Animal animal = new Animal();
+        updateEntity(animalRequest, animal);
+        return animal;
+    }
+
+    public Animal toEntity(AnimalImportRequest animalRequest) {
+        Customer customer = new Customer();
+        customer.setId(animalRequest.getCustomerId());
+
+        Animal animal = new Animal();
+        animal.setName(animalRequest.getName());
+        animal.setSpecies(animalRequest.getSpecies());
+        animal.setBreed(animalRequest.getBreed());
+        animal.setGender(animalRequest.getGender());
+        animal.setDateOfBirth(animalRequest.getDateOfBirth());
+        animal.setColour(animalRequest.getColour());
+        animal.setCustomer(customer);
+        return animal;
+    }
+
+    public void updateEntity(AnimalRequest animalRequest, Animal animal) {
+        animal.setName(animalRequest.getName());
+        animal.setSpecies(animalRequest.getSpecies());
+        animal.setBreed(animalRequest.getBreed());
+        animal.setGender(animalRequest.getGender());
+        animal.setDateOfBirth(animalRequest.getDateOfBirth());
+        animal.setColour(animalRequest.getColour());
+        animal.setCustomer(animalRequest.getCustomer());
+    }
+}
@@ -0,0 +1,76 @@
+package simsek.ali.VeterinaryManagementProject.dto.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.dto.request.AppointmentRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.AppointmentForReportResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.AppointmentResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.DoctorResponse;
+import simsek.ali.VeterinaryManagementProject.entity.Animal;
+import simsek.ali.VeterinaryManagementProject.entity.Appointment;
+import simsek.ali.VeterinaryManagementProject.entity.Doctor;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AnimalView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AppointmentView;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class AppointmentMapper {
+
+    private final DoctorMapper doctorMapper;
+    private final AnimalMapper animalMapper;
+
+    public AppointmentResponse toResponse(Appointment appointment) {
+        return new AppointmentResponse(appointment.getId(), appointment.getAppointmentDate(), appointment.getDurationMinutes(),
+                appointment.getDoctor() != null ? doctorMapper.toResponse(appointment.getDoctor()) : null,
+                appointment.getAnimal() != null ? animalMapper.toResponse(appointment.getAnimal()) : null);
+    }
+
+    public AppointmentResponse toResponse(AppointmentView appointment) {
+        AnimalView animal = appointment.animal();
+        return new AppointmentResponse(appointment.id(), appointment.appointmentDate(), appointment.durationMinutes(),
+                appointment.doctorId() != null
+                        ? new DoctorResponse(appointment.doctorId(), appointment.doctorName(), appointment.doctorPhone(),
+                                appointment.doctorEmail(), appointment.doctorAddress(), appointment.doctorCity())
+                        : null,
+                animal != null ? animalMapper.toResponse(animal) : null);
+    }
+
+    public AppointmentForReportResponse toReportResponse(Appointment appointment) {
+        Animal animal = appointment.getAnimal();
+        return new AppointmentForReportResponse(
+                appointment.getId(),
+                appointment.getAppointmentDate(),
+                animal != null && animal.getCustomer() != null ? animal.getCustomer().getName() : null,
+                animal != null ? animal.getName() : null,
+                appointment.getDoctor() != null ? appointment.getDoctor().getName() : null);
+    }
+
+    public Appointment toEntity(AppointmentRequest appointmentRequest) {
+        Appointment appointment = new Appointment();
+        updateEntity(appointmentRequest, appointment);
+        return appointment;
+    }
+
+    public Appointment toEntity(Long doctorId, Long animalId, LocalDateTime appointmentDate, int durationMinutes) {
+        Doctor doctor = new Doctor();
+        doctor.setId(doctorId);
+        Animal animal = new Animal();
+        animal.setId(animalId);
+
+        Appointment appointment = new Appointment();
+        appointment.setAppointmentDate(appointmentDate);
+        appointment.setDurationMinutes(durationMinutes);
+        appointment.setDoctor(doctor);
+        appointment.setAnimal(animal);
+        return appointment;
+    }
+
+    public void updateEntity(AppointmentRequest appointmentRequest, Appointment appointment) {
+        appointment.setAppointmentDate(appointmentRequest.getAppointmentDate());
+        appointment.setDurationMinutes(appointmentRequest.getDurationMinutes());
+        appointment.setDoctor(appointmentRequest.getDoctor());
+        appointment.setAnimal(appointmentRequest.getAnimal());
+    }
+}
@@ -0,0 +1,29 @@
+package simsek.ali.VeterinaryManagementProject.dto.mapper;
+
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.dto.request.CustomerRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.CustomerResponse;
+import simsek.ali.VeterinaryManagementProject.entity.Customer;
+
+@Component
+public class CustomerMapper {
+
+    public CustomerResponse toResponse(Customer customer) {
+        return new CustomerResponse(customer.getId(), customer.getName(), customer.getPhone(),
+                customer.getEmail(), customer.getAddress(), customer.getCity());
+    }
+
+    public Customer toEntity(CustomerRequest customerRequest) {
+        Customer customer = new Customer();
+        updateEntity(customerRequest, customer);
+        return customer;
+    }
+
+    public void updateEntity(CustomerRequest customerRequest, Customer customer) {
+        customer.setName(customerRequest.getName());
+        customer.setPhone(customerRequest.getPhone());
+        customer.setEmail(customerRequest.getEmail());
+        customer.setAddress(customerRequest.getAddress());
+        customer.setCity(customerRequest.getCity());
+    }
+}
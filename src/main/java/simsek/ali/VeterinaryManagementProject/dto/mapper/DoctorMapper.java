@@ -0,0 +1,29 @@
+package simsek.ali.VeterinaryManagementProject.dto.mapper;
+
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.dto.request.DoctorRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.DoctorResponse;
+import simsek.ali.VeterinaryManagementProject.entity.Doctor;
+
+@Component
+public class DoctorMapper {
+
+    public DoctorResponse toResponse(Doctor doctor) {
+        return new DoctorResponse(doctor.getId(), doctor.getName(), doctor.getPhone(),
+                doctor.getEmail(), doctor.getAddress(), doctor.getCity());
+    }
+
+    public Doctor toEntity(DoctorRequest doctorRequest) {
+        Doctor doctor = new Doctor();
+        updateEntity(doctorRequest, doctor);
+        return doctor;
+    }
+
+    public void updateEntity(DoctorRequest doctorRequest, Doctor doctor) {
+        doctor.setName(doctorRequest.getName());
+        doctor.setPhone(doctorRequest.getPhone());
+        doctor.setEmail(doctorRequest.getEmail());
+        doctor.setAddress(doctorRequest.getAddress());
+        doctor.setCity(doctorRequest.getCity());
+    }
+}
@@ -0,0 +1,56 @@
+package simsek.ali.VeterinaryManagementProject.dto.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.dto.request.ReportRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.AppointmentForReportResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ReportResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.VaccinationResponse;
+import simsek.ali.VeterinaryManagementProject.entity.Report;
+import simsek.ali.VeterinaryManagementProject.entity.Vaccination;
+import simsek.ali.VeterinaryManagementProject.repository.projection.ReportView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ReportMapper {
+
+    private final AppointmentMapper appointmentMapper;
+    private final VaccinationMapper vaccinationMapper;
+
+    public ReportResponse toResponse(Report report) {
+        List<VaccinationResponse> vaccinationList = null;
+        if (report.getVaccinationList() != null) {
+            vaccinationList = new ArrayList<>(report.getVaccinationList().size());
+            for (Vaccination vaccination : report.getVaccinationList()) {
+                vaccinationList.add(vaccinationMapper.toResponse(vaccination));
+            }
+        }
+        return toResponse(report, vaccinationList);
+    }
+
+    public ReportResponse toResponse(Report report, List<VaccinationResponse> vaccinationList) {
+        return new ReportResponse(report.getId(), report.getTitle(), report.getDiagnosis(), report.getPrice(),
+                report.getAppointment() != null ? appointmentMapper.toReportResponse(report.getAppointment()) : null,
+                vaccinationList);
+    }
+
+    public ReportResponse toResponse(ReportView report, List<VaccinationResponse> vaccinationList) {
+        return new ReportResponse(report.id(), report.title(), report.diagnosis(), report.price(),
+                report.appointmentId() != null
+                        ? new AppointmentForReportResponse(report.appointmentId(), report.appointmentDate(),
+                                report.customerName(), report.animalName(), report.doctorName())
+                        : null,
+                vaccinationList);
+    }
+
+    public Report toEntity(ReportRequest reportRequest) {
+        Report report = new Report();
+        report.setTitle(reportRequest.getTitle());
+        report.setDiagnosis(reportRequest.getDiagnosis());
+        report.setPrice(reportRequest.getPrice());
+        return report;
+    }
+}
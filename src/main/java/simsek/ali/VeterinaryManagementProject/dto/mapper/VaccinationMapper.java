@@ -0,0 +1,35 @@
+package simsek.ali.VeterinaryManagementProject.dto.mapper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.dto.response.ReportSimpleResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.VaccinationResponse;
+import simsek.ali.VeterinaryManagementProject.entity.Report;
+import simsek.ali.VeterinaryManagementProject.entity.Vaccination;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AnimalView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.VaccinationView;
+
+@Component
+@RequiredArgsConstructor
+public class VaccinationMapper {
+
+    private final AnimalMapper animalMapper;
+
+    public VaccinationResponse toResponse(Vaccination vaccination) {
+        Report report = vaccination.getReport();
+        return new VaccinationResponse(vaccination.getId(), vaccination.getName(), vaccination.getCode(),
+                vaccination.getProtectionStartDate(), vaccination.getProtectionFinishDate(),
+                vaccination.getAnimal() != null ? animalMapper.toResponse(vaccination.getAnimal()) : null,
+                report != null ? new ReportSimpleResponse(report.getId(), report.getTitle(), report.getDiagnosis(), report.getPrice()) : null);
+    }
+
+    public VaccinationResponse toResponse(VaccinationView vaccination) {
+        AnimalView animal = vaccination.animal();
+        return new VaccinationResponse(vaccination.id(), vaccination.name(), vaccination.code(),
+                vaccination.protectionStartDate(), vaccination.protectionFinishDate(),
+                animal != null ? animalMapper.toResponse(animal) : null,
+                vaccination.reportId() != null
+                        ? new ReportSimpleResponse(vaccination.reportId(), vaccination.reportTitle(), vaccination.reportDiagnosis(), vaccination.reportPrice())
+                        : null);
+    }
+}
@@ -0,0 +1,20 @@
+package simsek.ali.VeterinaryManagementProject.dto.mapper;
+
+import org.springframework.stereotype.Component;
+import simsek.ali.VeterinaryManagementProject.dto.request.WorkDayRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.WorkDayResponse;
+import simsek.ali.VeterinaryManagementProject.entity.WorkDay;
+
+@Component
+public class WorkDayMapper {
+
+    public WorkDayResponse toResponse(WorkDay workDay) {
+        return new WorkDayResponse(workDay.getId(), workDay.getWorkDay(), workDay.getDoctor());
+    }
+
+    public WorkDay toEntity(WorkDayRequest workDayRequest) {
+        WorkDay workDay = new WorkDay();
+        workDay.setWorkDay(workDayRequest.getWorkDay());
+        return workDay;
+    }
+}
@@ -0,0 +1,26 @@
+package simsek.ali.VeterinaryManagementProject.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Toplu içe aktarmada bir hayvan satırı; CSV ile aynı düz yapıda olması için müşteri yalnızca id ile verilir.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnimalImportRequest {
+
+    private String name;
+    private String species;
+    private String breed;
+    private String gender;
+    private LocalDate dateOfBirth;
+    private String colour;
+    private Long customerId;
+}
@@ -16,6 +16,8 @@ import java.time.LocalDateTime;
 public class AppointmentRequest {
 
     private LocalDateTime appointmentDate;
+    /** Boş bırakılırsa vetapp.schedule.slot-minutes kullanılır. */
+    private Integer durationMinutes;
     private Doctor doctor;
     private Animal animal;
 }
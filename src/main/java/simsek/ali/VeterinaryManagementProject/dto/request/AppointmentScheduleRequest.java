@@ -0,0 +1,23 @@
+package simsek.ali.VeterinaryManagementProject.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Randevu earliest ile latest (dahil) arasında başlar; doctorId boşsa herhangi bir doktora atanabilir.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentScheduleRequest {
+
+    private Long animalId;
+    private Long doctorId;
+    private LocalDateTime earliest;
+    private LocalDateTime latest;
+}
@@ -4,7 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import simsek.ali.VeterinaryManagementProject.entity.Customer;
 
 import java.time.LocalDate;
 
@@ -21,5 +20,5 @@ public class AnimalResponse {
     private String gender;
     private String colour;
     private LocalDate dateOfBirth;
-    private Customer customer;
+    private CustomerResponse customer;
 }
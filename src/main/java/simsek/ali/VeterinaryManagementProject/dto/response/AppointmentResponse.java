@@ -4,8 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import simsek.ali.VeterinaryManagementProject.entity.Animal;
-import simsek.ali.VeterinaryManagementProject.entity.Doctor;
 
 import java.time.LocalDateTime;
 
@@ -17,6 +15,7 @@ public class AppointmentResponse {
 
     private Long id;
     private LocalDateTime appointmentDate;
-    private Doctor doctor;
-    private Animal animal;
+    private Integer durationMinutes;
+    private DoctorResponse doctor;
+    private AnimalResponse animal;
 }
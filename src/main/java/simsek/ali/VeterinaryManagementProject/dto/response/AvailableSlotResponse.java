@@ -0,0 +1,19 @@
+package simsek.ali.VeterinaryManagementProject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailableSlotResponse {
+
+    private Long doctorId;
+    private String doctorName;
+    private LocalDateTime appointmentDate;
+}
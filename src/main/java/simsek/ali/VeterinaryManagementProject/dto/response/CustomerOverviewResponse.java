@@ -0,0 +1,34 @@
+package simsek.ali.VeterinaryManagementProject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOverviewResponse {
+
+    private CustomerResponse customer;
+    private List<AnimalOverview> animals = new ArrayList<>();
+
+    @Getter
+    @AllArgsConstructor
+    public static class AnimalOverview {
+        private AnimalResponse animal;
+        private List<VaccinationResponse> vaccinations;
+        private List<AppointmentOverview> appointments;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class AppointmentOverview {
+        private AppointmentResponse appointment;
+        private ReportResponse report;
+    }
+}
@@ -0,0 +1,39 @@
+package simsek.ali.VeterinaryManagementProject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultResponse {
+
+    private int total;
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addImported(int count) {
+        total += count;
+        imported += count;
+    }
+
+    public void addError(long row, String message) {
+        total++;
+        failed++;
+        errors.add(new RowError(row, message));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
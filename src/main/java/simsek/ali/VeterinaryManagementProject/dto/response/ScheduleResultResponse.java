@@ -0,0 +1,59 @@
+package simsek.ali.VeterinaryManagementProject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleResultResponse {
+
+    private int total;
+    private int scheduled;
+    private int unplaced;
+    private List<ScheduledAppointment> appointments = new ArrayList<>();
+    private List<UnplacedRequest> unplacedRequests = new ArrayList<>();
+
+    public void addScheduled(ScheduledAppointment appointment) {
+        total++;
+        scheduled++;
+        appointments.add(appointment);
+    }
+
+    public void addUnplaced(int index, Long animalId, String message) {
+        total++;
+        unplaced++;
+        unplacedRequests.add(new UnplacedRequest(index, animalId, message));
+    }
+
+    public void addAll(ScheduleResultResponse other) {
+        other.appointments.forEach(this::addScheduled);
+        other.unplacedRequests.forEach(request -> addUnplaced(request.getIndex(), request.getAnimalId(), request.getMessage()));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ScheduledAppointment {
+        private int index;
+        private Long appointmentId;
+        private Long animalId;
+        private Long doctorId;
+        private String doctorName;
+        private LocalDateTime appointmentDate;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class UnplacedRequest {
+        private int index;
+        private Long animalId;
+        private String message;
+    }
+}
@@ -0,0 +1,29 @@
+package simsek.ali.VeterinaryManagementProject.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+public class SliceResponse<T> extends SliceImpl<T> {
+
+    public SliceResponse(List<T> content, Pageable pageable, boolean hasNext) {
+        super(content, pageable, hasNext);
+    }
+
+    public static <T> Slice<T> of(Slice<T> slice) {
+        if (slice instanceof Page<T>) {
+            return slice;
+        }
+        return new SliceResponse<>(slice.getContent(), slice.getPageable(), slice.hasNext());
+    }
+
+    @Override
+    @JsonProperty("hasNext")
+    public boolean hasNext() {
+        return super.hasNext();
+    }
+}
@@ -4,7 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import simsek.ali.VeterinaryManagementProject.entity.Animal;
 
 import java.time.LocalDate;
 
@@ -19,6 +18,6 @@ public class VaccinationResponse {
     private String code;
     private LocalDate protectionStartDate;
     private LocalDate protectionFinishDate;
-    private Animal animal;
+    private AnimalResponse animal;
     private ReportSimpleResponse report;
 }
@@ -6,12 +6,14 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import simsek.ali.VeterinaryManagementProject.core.index.NameIndexListener;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Table(name = "animal")
 @Entity
+@EntityListeners(NameIndexListener.class)
 @Getter
 @Setter
 @ToString
@@ -19,7 +21,8 @@ import java.util.List;
 public class Animal {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "animal_seq")
+    @SequenceGenerator(name = "animal_seq", sequenceName = "animal_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
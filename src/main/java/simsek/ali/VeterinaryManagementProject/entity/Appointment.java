@@ -9,22 +9,37 @@ import lombok.ToString;
 
 import java.time.LocalDateTime;
 
-@Table(name = "appointment")
+@Table(name = "appointment", uniqueConstraints = @UniqueConstraint(name = Appointment.DOCTOR_SLOT_CONSTRAINT, columnNames = {"doctor_id", "appointment_date"}))
 @Entity
+@NamedEntityGraph(name = Appointment.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode("doctor"),
+        @NamedAttributeNode(value = "animal", subgraph = "animal"),
+        @NamedAttributeNode("report")},
+        subgraphs = @NamedSubgraph(name = "animal", attributeNodes = @NamedAttributeNode("customer")))
 @Getter
 @Setter
 @RequiredArgsConstructor
 @ToString
 public class Appointment {
 
+    /** Bir doktorun aynı saate iki randevu almasını veritabanı seviyesinde engeller. */
+    public static final String DOCTOR_SLOT_CONSTRAINT = "uk_appointment_doctor_date";
+
+    /** Listeleme cevabının ihtiyaç duyduğu doktor, hayvan, müşteri ve rapor ilişkilerini tek sorguda getirir. */
+    public static final String WITH_REFERENCES = "Appointment.withReferences";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
     @Column(name = "appointment_date")
     private LocalDateTime appointmentDate;
 
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
     @ManyToOne (fetch = FetchType.EAGER)
     @JoinColumn(name = "doctor_id")
     private Doctor doctor;
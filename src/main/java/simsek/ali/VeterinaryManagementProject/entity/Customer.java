@@ -3,11 +3,13 @@ package simsek.ali.VeterinaryManagementProject.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import simsek.ali.VeterinaryManagementProject.core.index.NameIndexListener;
 
 import java.util.List;
 
 @Entity
 @Table(name = "customer")
+@EntityListeners(NameIndexListener.class)
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -16,7 +18,8 @@ import java.util.List;
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     @Column (name = "id")
     private Long id;
 
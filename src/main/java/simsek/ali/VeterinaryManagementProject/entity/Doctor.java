@@ -6,11 +6,13 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import simsek.ali.VeterinaryManagementProject.core.index.NameIndexListener;
 
 import java.util.List;
 
 @Entity
 @Table (name = "doctor")
+@EntityListeners(NameIndexListener.class)
 @Getter
 @Setter
 @RequiredArgsConstructor
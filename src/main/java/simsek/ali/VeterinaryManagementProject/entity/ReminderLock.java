@@ -0,0 +1,23 @@
+package simsek.ali.VeterinaryManagementProject.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Hatırlatma akışının kilit satırı; aynı anda tek örnek çalışır.
+ */
+@Table(name = "reminder_lock")
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ReminderLock {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+}
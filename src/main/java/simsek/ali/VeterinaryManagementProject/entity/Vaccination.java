@@ -5,17 +5,33 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import simsek.ali.VeterinaryManagementProject.core.index.VaccinationIndexListener;
 
 import java.time.LocalDate;
 
-@Table(name = "vaccination")
+@Table(name = "vaccination", indexes = {
+        @Index(name = "idx_vaccination_animal_name_code_finish", columnList = "animal_id, name, code, protection_finish_date"),
+        @Index(name = "idx_vaccination_finish_date", columnList = "protection_finish_date")})
 @Entity
+@NamedEntityGraph(name = Vaccination.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode(value = "animal", subgraph = "animal"),
+        @NamedAttributeNode(value = "report", subgraph = "report")},
+        subgraphs = {
+                @NamedSubgraph(name = "animal", attributeNodes = @NamedAttributeNode("customer")),
+                @NamedSubgraph(name = "report", attributeNodes = @NamedAttributeNode(value = "appointment", subgraph = "appointment")),
+                @NamedSubgraph(name = "appointment", attributeNodes = {
+                        @NamedAttributeNode("doctor"),
+                        @NamedAttributeNode(value = "animal", subgraph = "animal")})})
+@EntityListeners(VaccinationIndexListener.class)
 @Getter
 @Setter
 @RequiredArgsConstructor
 @ToString
 public class Vaccination {
 
+    /** Hayvanı, müşterisini ve bağlı raporu randevusuyla birlikte tek sorguda getirir. */
+    public static final String WITH_REFERENCES = "Vaccination.withReferences";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -33,6 +49,10 @@ public class Vaccination {
     @Column(name = "protection_finish_date")
     private LocalDate protectionFinishDate;
 
+    /** Hatırlatması gönderilmiş bitiş tarihi; bitiş tarihi değişirse aşı yeniden hatırlatılır. Yalnızca markReminded yazar. */
+    @Column(name = "reminded_finish_date", updatable = false)
+    private LocalDate remindedFinishDate;
+
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "animal_id")
     private Animal animal;
@@ -3,7 +3,11 @@ package simsek.ali.VeterinaryManagementProject.exception;
 import java.time.LocalDate;
 
 public class DoctorAppointmentConflictException extends RuntimeException {
-    public DoctorAppointmentConflictException(LocalDate date) {
+    public DoctorAppointmentConflictException() {
         super();
     }
+
+    public DoctorAppointmentConflictException(LocalDate date) {
+        super(date + " tarihinde doktorun bu saatte başka bir randevusu var.");
+    }
 }
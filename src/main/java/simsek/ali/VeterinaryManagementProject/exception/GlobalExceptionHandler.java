@@ -1,6 +1,10 @@
 package simsek.ali.VeterinaryManagementProject.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -8,10 +12,16 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import simsek.ali.VeterinaryManagementProject.entity.Appointment;
+
+import java.util.Locale;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<ErrorResponse> entityNotFoundExceptionHandler(EntityNotFoundException exception, HttpServletRequest request) {
 
@@ -36,6 +46,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(generateErrorResponse(400, exception, request));
     }
 
+    /**
+     * uk_appointment_doctor_date ihlali uygulama içindeki çakışma kontrolüyle aynı cevabı alır.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> dataIntegrityViolationExceptionHandler(DataIntegrityViolationException exception, HttpServletRequest request) {
+        if (violates(exception, Appointment.DOCTOR_SLOT_CONSTRAINT)) {
+            return doctorAppointmentConflictExceptionHandler(new DoctorAppointmentConflictException(), request);
+        }
+        return handleAllUncaughtException(exception, request);
+    }
+
     @ExceptionHandler(DoctorNotAvailableException.class)
     public ResponseEntity<ErrorResponse> doctorNotAvailableExceptionHandler(DoctorNotAvailableException exception, HttpServletRequest request) {
 
@@ -48,10 +69,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(generateErrorResponse(400, exception, request));
     }
 
+    @ExceptionHandler(InvalidAppointmentDurationException.class)
+    public ResponseEntity<ErrorResponse> invalidAppointmentDurationExceptionHandler(InvalidAppointmentDurationException exception, HttpServletRequest request) {
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(generateErrorResponse(400, exception, request));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> invalidCursorExceptionHandler(InvalidCursorException exception, HttpServletRequest request) {
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(generateErrorResponse(400, exception, request));
+    }
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ErrorResponse> handleMissingServletRequestParameterException(MissingServletRequestParameterException exception, HttpServletRequest request) {
         String paramName = exception.getParameterName();
         String message = String.format("Gerekli istek parametresi '%s' eksik veya geçersiz.", paramName);
+        countRejection(400, exception);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(generateErrorResponse(400, message, request));
     }
 
@@ -60,7 +94,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException exception, HttpServletRequest request) {
         StringBuilder message = new StringBuilder("Validation failed for: ");
         exception.getBindingResult().getFieldErrors().forEach(error -> message.append(error.getField()).append(" - ").append(error.getDefaultMessage()).append("; "));
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(generateErrorResponse(400, new RuntimeException(message.toString()), request));
+        countRejection(400, exception);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(generateErrorResponse(400, message.toString(), request));
     }
 
     @ExceptionHandler(Exception.class)
@@ -77,6 +112,20 @@ public class GlobalExceptionHandler {
     }
 
     public ErrorResponse generateErrorResponse(int status, Exception ex, HttpServletRequest request) {
+        countRejection(status, ex);
         return generateErrorResponse(status, ex.getMessage(), request);
     }
+
+    /**
+     * Kısıt adı dialect'e göre ya ayrıştırılmış gelir (PostgreSQL) ya da yalnızca sürücü mesajının içinde geçer (H2).
+     */
+    private static boolean violates(DataIntegrityViolationException exception, String constraint) {
+        String name = exception.getCause() instanceof ConstraintViolationException violation ? violation.getConstraintName() : null;
+        String text = name != null ? name : exception.getMostSpecificCause().getMessage();
+        return text != null && text.toLowerCase(Locale.ROOT).contains(constraint);
+    }
+
+    private void countRejection(int status, Exception ex) {
+        meterRegistry.counter("vetapp.rejections", "type", ex.getClass().getSimpleName(), "status", String.valueOf(status)).increment();
+    }
 }
@@ -0,0 +1,7 @@
+package simsek.ali.VeterinaryManagementProject.exception;
+
+public class InvalidAppointmentDurationException extends RuntimeException {
+    public InvalidAppointmentDurationException(Integer durationMinutes) {
+        super("'" + durationMinutes + "' dakika geçerli bir randevu süresi değil.");
+    }
+}
@@ -0,0 +1,7 @@
+package simsek.ali.VeterinaryManagementProject.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("'" + cursor + "' geçerli bir sayfa imleci değil.");
+    }
+}
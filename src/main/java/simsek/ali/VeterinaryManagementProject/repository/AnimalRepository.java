@@ -1,21 +1,81 @@
 package simsek.ali.VeterinaryManagementProject.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import simsek.ali.VeterinaryManagementProject.entity.Animal;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AnimalIdentityView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AnimalView;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AnimalRepository extends JpaRepository<Animal, Long> {
+
+    String ANIMAL_VIEW = "select new simsek.ali.VeterinaryManagementProject.repository.projection.AnimalView(" +
+            "a.id, a.name, a.species, a.breed, a.gender, a.colour, a.dateOfBirth, " +
+            "c.id, c.name, c.phone, c.email, c.address, c.city) " +
+            "from Animal a left join a.customer c";
+    String NAME_CONTAINS = " where upper(a.name) like upper(concat('%', :#{escape(#name)}, '%')) escape :#{escapeCharacter()}";
+    String CUSTOMER_NAME_CONTAINS = " where upper(c.name) like upper(concat('%', :#{escape(#customerName)}, '%')) escape :#{escapeCharacter()}";
+    String CUSTOMER_ID_IN = " where c.id in :customerIds";
+
     Optional<Animal> findByNameAndSpeciesAndGenderAndDateOfBirth(String name, String species, String gender, LocalDate dateOfBirth);
 
-    Page<Animal> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    @Query("select a.name as name, a.species as species, a.gender as gender, a.dateOfBirth as dateOfBirth from Animal a where a.name in :names")
+    List<AnimalIdentityView> findIdentitiesByNameIn(Collection<String> names);
+
+    @Query("select a.id from Animal a where a.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "customer")
+    Window<Animal> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = "customer")
+    Window<Animal> findByNameContainingIgnoreCase(String name, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = "customer")
+    Window<Animal> findByCustomer_NameContainingIgnoreCase(String customerName, ScrollPosition position, Limit limit, Sort sort);
+
+    @Query(value = ANIMAL_VIEW, countQuery = "select count(a) from Animal a")
+    Page<AnimalView> findViewPage(Pageable pageable);
+
+    @Query(ANIMAL_VIEW)
+    Slice<AnimalView> findViewSlice(Pageable pageable);
+
+    @Query(value = ANIMAL_VIEW + NAME_CONTAINS, countQuery = "select count(a) from Animal a" + NAME_CONTAINS)
+    Page<AnimalView> findViewPageByName(String name, Pageable pageable);
+
+    @Query(ANIMAL_VIEW + NAME_CONTAINS)
+    Slice<AnimalView> findViewSliceByName(String name, Pageable pageable);
+
+    @Query(value = ANIMAL_VIEW + CUSTOMER_NAME_CONTAINS, countQuery = "select count(a) from Animal a join a.customer c" + CUSTOMER_NAME_CONTAINS)
+    Page<AnimalView> findViewPageByCustomerName(String customerName, Pageable pageable);
+
+    @Query(ANIMAL_VIEW + CUSTOMER_NAME_CONTAINS)
+    Slice<AnimalView> findViewSliceByCustomerName(String customerName, Pageable pageable);
+
+    @Query(ANIMAL_VIEW + " where a.id in :ids")
+    List<AnimalView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
 
-    Page<Animal> findByCustomer_NameContainingIgnoreCase(String customerName, Pageable pageable);
+    @Query(ANIMAL_VIEW + " where c.id = :customerId order by a.id")
+    List<AnimalView> findViewsByCustomerId(@Param("customerId") Long customerId);
 
+    @Query(value = ANIMAL_VIEW + CUSTOMER_ID_IN, countQuery = "select count(a) from Animal a join a.customer c" + CUSTOMER_ID_IN)
+    Page<AnimalView> findViewPageByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds, Pageable pageable);
 
+    @Query(ANIMAL_VIEW + CUSTOMER_ID_IN)
+    Slice<AnimalView> findViewSliceByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds, Pageable pageable);
 }
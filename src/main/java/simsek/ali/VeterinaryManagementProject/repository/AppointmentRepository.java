@@ -1,25 +1,98 @@
 package simsek.ali.VeterinaryManagementProject.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import simsek.ali.VeterinaryManagementProject.core.export.NdjsonWriter;
 import simsek.ali.VeterinaryManagementProject.entity.Appointment;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AppointmentSlotView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AppointmentView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.DoctorSlotView;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
-    Optional<Appointment> findByAppointmentDateAndDoctorIdAndAnimalId(LocalDateTime date, Long id, Long id1);
+    String APPOINTMENT_VIEW = "select new simsek.ali.VeterinaryManagementProject.repository.projection.AppointmentView(" +
+            "a.id, a.appointmentDate, a.durationMinutes, " +
+            "d.id, d.name, d.phone, d.email, d.address, d.city, " +
+            "an.id, an.name, an.species, an.breed, an.gender, an.colour, an.dateOfBirth, " +
+            "c.id, c.name, c.phone, c.email, c.address, c.city) " +
+            "from Appointment a left join a.doctor d left join a.animal an left join an.customer c";
+    String APPOINTMENT_COUNT = "select count(a) from Appointment a";
+    String IN_DATE_RANGE = " where a.appointmentDate between :startDate and :endDate";
+    String OF_DOCTOR_IN_DATE_RANGE = IN_DATE_RANGE + " and a.doctor.id = :doctorId";
+    String OF_ANIMAL_IN_DATE_RANGE = IN_DATE_RANGE + " and a.animal.id = :animalId";
 
-    Optional<Appointment> findByAppointmentDateAndDoctorId(LocalDateTime date, Long id);
+    @Query("select a.appointmentDate as appointmentDate, a.durationMinutes as durationMinutes, a.animal.id as animalId from Appointment a " +
+            "where a.doctor.id = :doctorId and a.appointmentDate >= :startDate and a.appointmentDate < :endDate")
+    List<AppointmentSlotView> findSlotsByDoctorIdAndDateRange(@Param("doctorId") Long doctorId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-    Page<Appointment> findByAppointmentDateBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    @Query("select a.doctor.id as doctorId, a.appointmentDate as appointmentDate, a.durationMinutes as durationMinutes from Appointment a " +
+            "where a.appointmentDate >= :startDate and a.appointmentDate < :endDate and (:doctorId is null or a.doctor.id = :doctorId) " +
+            "order by a.doctor.id, a.appointmentDate")
+    List<DoctorSlotView> findDoctorSlotsByDateRange(@Param("doctorId") Long doctorId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-    Page<Appointment> findByDoctorIdAndAppointmentDateBetween(Long doctorId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    @EntityGraph(Appointment.WITH_REFERENCES)
+    Window<Appointment> findAllBy(ScrollPosition position, Limit limit, Sort sort);
 
-    Page<Appointment> findByAnimalIdAndAppointmentDateBetween(Long animalId, LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    @EntityGraph(Appointment.WITH_REFERENCES)
+    Window<Appointment> findByAppointmentDateBetween(LocalDateTime startDate, LocalDateTime endDate, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(Appointment.WITH_REFERENCES)
+    Window<Appointment> findByDoctorIdAndAppointmentDateBetween(Long doctorId, LocalDateTime startDate, LocalDateTime endDate, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(Appointment.WITH_REFERENCES)
+    Window<Appointment> findByAnimalIdAndAppointmentDateBetween(Long animalId, LocalDateTime startDate, LocalDateTime endDate, ScrollPosition position, Limit limit, Sort sort);
+
+    @Query(value = APPOINTMENT_VIEW, countQuery = APPOINTMENT_COUNT)
+    Page<AppointmentView> findViewPage(Pageable pageable);
+
+    @Query(APPOINTMENT_VIEW)
+    Slice<AppointmentView> findViewSlice(Pageable pageable);
+
+    @Query(value = APPOINTMENT_VIEW + IN_DATE_RANGE, countQuery = APPOINTMENT_COUNT + IN_DATE_RANGE)
+    Page<AppointmentView> findViewPageByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query(APPOINTMENT_VIEW + IN_DATE_RANGE)
+    Slice<AppointmentView> findViewSliceByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query(value = APPOINTMENT_VIEW + OF_DOCTOR_IN_DATE_RANGE, countQuery = APPOINTMENT_COUNT + OF_DOCTOR_IN_DATE_RANGE)
+    Page<AppointmentView> findViewPageByDoctorIdAndDateRange(@Param("doctorId") Long doctorId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query(APPOINTMENT_VIEW + OF_DOCTOR_IN_DATE_RANGE)
+    Slice<AppointmentView> findViewSliceByDoctorIdAndDateRange(@Param("doctorId") Long doctorId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query(value = APPOINTMENT_VIEW + OF_ANIMAL_IN_DATE_RANGE, countQuery = APPOINTMENT_COUNT + OF_ANIMAL_IN_DATE_RANGE)
+    Page<AppointmentView> findViewPageByAnimalIdAndDateRange(@Param("animalId") Long animalId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query(APPOINTMENT_VIEW + OF_ANIMAL_IN_DATE_RANGE)
+    Slice<AppointmentView> findViewSliceByAnimalIdAndDateRange(@Param("animalId") Long animalId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @Query(APPOINTMENT_VIEW + " where c.id = :customerId order by a.appointmentDate, a.id")
+    List<AppointmentView> findViewsByCustomerId(@Param("customerId") Long customerId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonWriter.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(APPOINTMENT_VIEW + " where (:doctorId is null or a.doctor.id = :doctorId)" +
+            " and (:startDate is null or a.appointmentDate >= :startDate) and (:endDate is null or a.appointmentDate < :endDate)" +
+            " order by a.id")
+    Stream<AppointmentView> streamViews(@Param("doctorId") Long doctorId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 }
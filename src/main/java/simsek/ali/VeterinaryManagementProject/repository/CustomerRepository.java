@@ -1,11 +1,20 @@
 package simsek.ali.VeterinaryManagementProject.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import simsek.ali.VeterinaryManagementProject.entity.Customer;
+import simsek.ali.VeterinaryManagementProject.repository.projection.CustomerIdentityView;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,5 +22,19 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByNameAndEmail(String name, String email);
 
+    @Query("select c.name as name, c.email as email from Customer c where c.name in :names")
+    List<CustomerIdentityView> findIdentitiesByNameIn(Collection<String> names);
+
+    @Query("select c.id from Customer c where c.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
     Page<Customer> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    Window<Customer> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Customer> findByNameContainingIgnoreCase(String name, ScrollPosition position, Limit limit, Sort sort);
+
+    Slice<Customer> findSliceBy(Pageable pageable);
+
+    Slice<Customer> findSliceByNameContainingIgnoreCase(String name, Pageable pageable);
 }
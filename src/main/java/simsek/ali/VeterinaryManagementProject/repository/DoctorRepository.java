@@ -1,7 +1,12 @@
 package simsek.ali.VeterinaryManagementProject.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import simsek.ali.VeterinaryManagementProject.entity.Doctor;
@@ -12,4 +17,12 @@ import java.util.Optional;
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     Optional<Doctor> findByNameAndEmail(String name, String email);
     Page<Doctor> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    Window<Doctor> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    Window<Doctor> findByNameContainingIgnoreCase(String name, ScrollPosition position, Limit limit, Sort sort);
+
+    Slice<Doctor> findSliceBy(Pageable pageable);
+
+    Slice<Doctor> findSliceByNameContainingIgnoreCase(String name, Pageable pageable);
 }
@@ -0,0 +1,26 @@
+package simsek.ali.VeterinaryManagementProject.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import simsek.ali.VeterinaryManagementProject.entity.ReminderLock;
+
+import java.util.Optional;
+
+@Repository
+public interface ReminderLockRepository extends JpaRepository<ReminderLock, String> {
+
+    /**
+     * Satır yoksa ekler; aynı anda ekleyen ikinci örnek ilkinin commit'ini bekler ve hata almaz.
+     */
+    @Modifying
+    @Query(value = "insert into reminder_lock (name) values (:name) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ReminderLock> findWithLockByName(String name);
+}
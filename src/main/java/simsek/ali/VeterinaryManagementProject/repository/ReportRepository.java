@@ -1,13 +1,67 @@
 package simsek.ali.VeterinaryManagementProject.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import simsek.ali.VeterinaryManagementProject.core.export.NdjsonWriter;
 import simsek.ali.VeterinaryManagementProject.entity.Report;
+import simsek.ali.VeterinaryManagementProject.repository.projection.ReportView;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report,Long> {
+
+    String REPORT_VIEW = "select new simsek.ali.VeterinaryManagementProject.repository.projection.ReportView(" +
+            "r.id, r.title, r.diagnosis, r.price, a.id, a.appointmentDate, c.name, an.name, d.name) " +
+            "from Report r left join r.appointment a left join a.animal an left join an.customer c left join a.doctor d";
+
     Optional<Report> findByAppointmentId(Long appointmentId);
     Optional<Report> findReportByTitleAndDiagnosisAndPriceAndAppointmentId(String title, String diagnosis, double price, Long appointment_id);
+
+    @EntityGraph(attributePaths = {"appointment", "appointment.doctor", "appointment.animal", "appointment.animal.customer"})
+    Window<Report> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @Query(value = REPORT_VIEW, countQuery = "select count(r) from Report r")
+    Page<ReportView> findViewPage(Pageable pageable);
+
+    @Query(REPORT_VIEW)
+    Slice<ReportView> findViewSlice(Pageable pageable);
+
+    @Query(REPORT_VIEW + " where c.id = :customerId order by r.id")
+    List<ReportView> findViewsByCustomerId(@Param("customerId") Long customerId);
+
+    @Query(REPORT_VIEW + " where r.id in :ids")
+    List<ReportView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.id from Report r left join r.appointment a left join a.doctor d" +
+            " where (lower(r.title) like :pattern or lower(r.diagnosis) like :pattern) and (:doctorId is null or d.id = :doctorId)" +
+            " and (:startDate is null or a.appointmentDate >= :startDate) and (:endDate is null or a.appointmentDate < :endDate)")
+    List<Long> findIdsByText(@Param("pattern") String pattern, @Param("doctorId") Long doctorId,
+                             @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonWriter.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(REPORT_VIEW + " where (:doctorId is null or d.id = :doctorId)" +
+            " and (:startDate is null or a.appointmentDate >= :startDate) and (:endDate is null or a.appointmentDate < :endDate)" +
+            " order by r.id")
+    Stream<ReportView> streamViews(@Param("doctorId") Long doctorId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 }
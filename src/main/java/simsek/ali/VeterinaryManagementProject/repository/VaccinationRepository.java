@@ -1,20 +1,121 @@
 package simsek.ali.VeterinaryManagementProject.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import simsek.ali.VeterinaryManagementProject.core.export.NdjsonWriter;
 import simsek.ali.VeterinaryManagementProject.entity.Vaccination;
+import simsek.ali.VeterinaryManagementProject.repository.projection.DueVaccinationView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.VaccinationProtectionView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.VaccinationView;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface VaccinationRepository extends JpaRepository<Vaccination, Long> {
 
-    List<Vaccination> findByNameAndCodeAndAnimalIdAndProtectionFinishDateGreaterThanEqual(String name, String code, Long id, LocalDate protectionStartDate);
+    String VACCINATION_VIEW = "select new simsek.ali.VeterinaryManagementProject.repository.projection.VaccinationView(" +
+            "v.id, v.name, v.code, v.protectionStartDate, v.protectionFinishDate, " +
+            "an.id, an.name, an.species, an.breed, an.gender, an.colour, an.dateOfBirth, " +
+            "c.id, c.name, c.phone, c.email, c.address, c.city, " +
+            "r.id, r.title, r.diagnosis, r.price) " +
+            "from Vaccination v left join v.animal an left join an.customer c left join v.report r";
+    String ANIMAL_NAME_CONTAINS = " where upper(an.name) like upper(concat('%', :#{escape(#name)}, '%')) escape :#{escapeCharacter()}";
+    String ANIMAL_ID_IN = " where an.id in :animalIds";
+    String FINISH_DATE_IN_RANGE = " where v.protectionFinishDate between :startDate and :endDate";
 
-    Page<Vaccination> findByAnimalNameContainingIgnoreCase(String name, Pageable pageable);
+    List<VaccinationProtectionView> findProtectionsByAnimalId(Long animalId);
 
-    Page<Vaccination> findByProtectionFinishDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
+    @EntityGraph(Vaccination.WITH_REFERENCES)
+    Window<Vaccination> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(Vaccination.WITH_REFERENCES)
+    Window<Vaccination> findByAnimalNameContainingIgnoreCase(String name, ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(Vaccination.WITH_REFERENCES)
+    Window<Vaccination> findByProtectionFinishDateBetween(LocalDate startDate, LocalDate endDate, ScrollPosition position, Limit limit, Sort sort);
+
+    @Query(value = VACCINATION_VIEW, countQuery = "select count(v) from Vaccination v")
+    Page<VaccinationView> findViewPage(Pageable pageable);
+
+    @Query(VACCINATION_VIEW)
+    Slice<VaccinationView> findViewSlice(Pageable pageable);
+
+    @Query(value = VACCINATION_VIEW + ANIMAL_NAME_CONTAINS, countQuery = "select count(v) from Vaccination v join v.animal an" + ANIMAL_NAME_CONTAINS)
+    Page<VaccinationView> findViewPageByAnimalName(String name, Pageable pageable);
+
+    @Query(VACCINATION_VIEW + ANIMAL_NAME_CONTAINS)
+    Slice<VaccinationView> findViewSliceByAnimalName(String name, Pageable pageable);
+
+    @Query(value = VACCINATION_VIEW + ANIMAL_ID_IN, countQuery = "select count(v) from Vaccination v join v.animal an" + ANIMAL_ID_IN)
+    Page<VaccinationView> findViewPageByAnimalIdIn(@Param("animalIds") Collection<Long> animalIds, Pageable pageable);
+
+    @Query(VACCINATION_VIEW + ANIMAL_ID_IN)
+    Slice<VaccinationView> findViewSliceByAnimalIdIn(@Param("animalIds") Collection<Long> animalIds, Pageable pageable);
+
+    @Query(value = VACCINATION_VIEW + FINISH_DATE_IN_RANGE, countQuery = "select count(v) from Vaccination v" + FINISH_DATE_IN_RANGE)
+    Page<VaccinationView> findViewPageByFinishDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
+
+    @Query(VACCINATION_VIEW + FINISH_DATE_IN_RANGE)
+    Slice<VaccinationView> findViewSliceByFinishDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
+
+    @Query(VACCINATION_VIEW + " where v.id in :ids")
+    List<VaccinationView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Müşterinin hayvanlarının aşıları ile müşterinin raporlarına bağlı aşılar (başka bir hayvana ait olsalar da).
+     */
+    @Query(VACCINATION_VIEW + " left join r.appointment ra left join ra.animal ran " +
+            "where c.id = :customerId or ran.customer.id = :customerId order by v.id")
+    List<VaccinationView> findViewsByCustomerId(@Param("customerId") Long customerId);
+
+    @Query(VACCINATION_VIEW + " where r.id in :reportIds")
+    List<VaccinationView> findViewsByReportIdIn(@Param("reportIds") Collection<Long> reportIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonWriter.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VACCINATION_VIEW + " where (:startDate is null or v.protectionFinishDate >= :startDate)" +
+            " and (:endDate is null or v.protectionFinishDate <= :endDate)" +
+            " order by v.id")
+    Stream<VaccinationView> streamViews(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Bitiş tarihi [today, horizon] içinde olup bu tarih için hatırlatılmamış aşılar, müşteriye göre sıralı.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonWriter.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new simsek.ali.VeterinaryManagementProject.repository.projection.DueVaccinationView(" +
+            "v.id, v.name, v.code, v.protectionFinishDate, an.id, an.name, c.id, c.name, c.email, c.phone) " +
+            "from Vaccination v join v.animal an join an.customer c " +
+            "where v.protectionFinishDate >= :today and v.protectionFinishDate <= :horizon" +
+            " and (v.remindedFinishDate is null or v.remindedFinishDate <> v.protectionFinishDate) " +
+            "order by c.id, v.protectionFinishDate, v.id")
+    Stream<DueVaccinationView> streamDue(@Param("today") LocalDate today, @Param("horizon") LocalDate horizon);
+
+    /**
+     * Okuma ile işaretleme arasında bitiş tarihi değişen aşı bir sonraki çalışmada yeniden gönderilir.
+     */
+    @Modifying
+    @Query("update Vaccination v set v.remindedFinishDate = :finishDate where v.id in :ids")
+    int markReminded(@Param("ids") Collection<Long> ids, @Param("finishDate") LocalDate finishDate);
 }
@@ -1,11 +1,22 @@
 package simsek.ali.VeterinaryManagementProject.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import simsek.ali.VeterinaryManagementProject.entity.WorkDay;
+import simsek.ali.VeterinaryManagementProject.repository.projection.DoctorWorkDayView;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +25,21 @@ public interface WorkDayRepository extends JpaRepository<WorkDay, Long> {
     Optional<WorkDay> findByWorkDayAndDoctor_Id(LocalDate availableDate, Long id);
 
     Optional<WorkDay> findByDoctorIdAndWorkDay(Long id, LocalDate availableDate);
+
+    boolean existsByDoctorIdAndWorkDay(Long id, LocalDate availableDate);
+
+    @Query("select w.doctor.id as doctorId, w.doctor.name as doctorName, w.workDay as workDay from WorkDay w " +
+            "where w.workDay between :startDate and :endDate and (:doctorId is null or w.doctor.id = :doctorId) " +
+            "order by w.doctor.id, w.workDay")
+    List<DoctorWorkDayView> findDoctorWorkDays(@Param("doctorId") Long doctorId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Override
+    @EntityGraph(attributePaths = "doctor")
+    Page<WorkDay> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "doctor")
+    Window<WorkDay> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    @EntityGraph(attributePaths = "doctor")
+    Slice<WorkDay> findSliceBy(Pageable pageable);
 }
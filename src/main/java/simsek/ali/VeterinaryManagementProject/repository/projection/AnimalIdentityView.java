@@ -0,0 +1,14 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDate;
+
+public interface AnimalIdentityView {
+
+    String getName();
+
+    String getSpecies();
+
+    String getGender();
+
+    LocalDate getDateOfBirth();
+}
@@ -0,0 +1,8 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDate;
+
+public record AnimalView(Long id, String name, String species, String breed, String gender, String colour, LocalDate dateOfBirth,
+                         Long customerId, String customerName, String customerPhone, String customerEmail,
+                         String customerAddress, String customerCity) {
+}
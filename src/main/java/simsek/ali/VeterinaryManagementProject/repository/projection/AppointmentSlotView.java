@@ -0,0 +1,12 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface AppointmentSlotView {
+
+    LocalDateTime getAppointmentDate();
+
+    Integer getDurationMinutes();
+
+    Long getAnimalId();
+}
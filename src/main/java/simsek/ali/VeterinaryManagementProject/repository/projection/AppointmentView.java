@@ -0,0 +1,18 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record AppointmentView(Long id, LocalDateTime appointmentDate, Integer durationMinutes,
+                              Long doctorId, String doctorName, String doctorPhone, String doctorEmail,
+                              String doctorAddress, String doctorCity,
+                              Long animalId, String animalName, String animalSpecies, String animalBreed,
+                              String animalGender, String animalColour, LocalDate animalDateOfBirth,
+                              Long customerId, String customerName, String customerPhone, String customerEmail,
+                              String customerAddress, String customerCity) {
+
+    public AnimalView animal() {
+        return animalId == null ? null : new AnimalView(animalId, animalName, animalSpecies, animalBreed, animalGender,
+                animalColour, animalDateOfBirth, customerId, customerName, customerPhone, customerEmail, customerAddress, customerCity);
+    }
+}
@@ -0,0 +1,8 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+public interface CustomerIdentityView {
+
+    String getName();
+
+    String getEmail();
+}
@@ -0,0 +1,12 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface DoctorSlotView {
+
+    Long getDoctorId();
+
+    LocalDateTime getAppointmentDate();
+
+    Integer getDurationMinutes();
+}
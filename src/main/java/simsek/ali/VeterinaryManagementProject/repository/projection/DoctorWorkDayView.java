@@ -0,0 +1,12 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDate;
+
+public interface DoctorWorkDayView {
+
+    Long getDoctorId();
+
+    String getDoctorName();
+
+    LocalDate getWorkDay();
+}
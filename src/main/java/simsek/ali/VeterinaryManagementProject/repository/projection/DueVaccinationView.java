@@ -0,0 +1,8 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDate;
+
+public record DueVaccinationView(Long id, String name, String code, LocalDate protectionFinishDate,
+                                 Long animalId, String animalName,
+                                 Long customerId, String customerName, String customerEmail, String customerPhone) {
+}
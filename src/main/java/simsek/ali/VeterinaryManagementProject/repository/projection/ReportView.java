@@ -0,0 +1,8 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDateTime;
+
+public record ReportView(Long id, String title, String diagnosis, double price,
+                         Long appointmentId, LocalDateTime appointmentDate,
+                         String customerName, String animalName, String doctorName) {
+}
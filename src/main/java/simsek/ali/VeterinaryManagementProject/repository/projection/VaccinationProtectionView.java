@@ -0,0 +1,16 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDate;
+
+public interface VaccinationProtectionView {
+
+    Long getId();
+
+    String getName();
+
+    String getCode();
+
+    LocalDate getProtectionStartDate();
+
+    LocalDate getProtectionFinishDate();
+}
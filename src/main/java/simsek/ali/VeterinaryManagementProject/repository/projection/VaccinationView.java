@@ -0,0 +1,16 @@
+package simsek.ali.VeterinaryManagementProject.repository.projection;
+
+import java.time.LocalDate;
+
+public record VaccinationView(Long id, String name, String code, LocalDate protectionStartDate, LocalDate protectionFinishDate,
+                              Long animalId, String animalName, String animalSpecies, String animalBreed,
+                              String animalGender, String animalColour, LocalDate animalDateOfBirth,
+                              Long customerId, String customerName, String customerPhone, String customerEmail,
+                              String customerAddress, String customerCity,
+                              Long reportId, String reportTitle, String reportDiagnosis, Double reportPrice) {
+
+    public AnimalView animal() {
+        return animalId == null ? null : new AnimalView(animalId, animalName, animalSpecies, animalBreed, animalGender,
+                animalColour, animalDateOfBirth, customerId, customerName, customerPhone, customerEmail, customerAddress, customerCity);
+    }
+}
@@ -1,48 +1,120 @@
 package simsek.ali.VeterinaryManagementProject.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import simsek.ali.VeterinaryManagementProject.core.index.NameSearchIndex;
+import simsek.ali.VeterinaryManagementProject.core.imports.ImportBatchWriter;
+import simsek.ali.VeterinaryManagementProject.core.imports.ImportReader;
+import simsek.ali.VeterinaryManagementProject.core.imports.ImportRow;
+import simsek.ali.VeterinaryManagementProject.core.pagination.IdPages;
+import simsek.ali.VeterinaryManagementProject.core.pagination.KeysetCursor;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.AnimalMapper;
+import simsek.ali.VeterinaryManagementProject.dto.request.AnimalImportRequest;
 import simsek.ali.VeterinaryManagementProject.dto.request.AnimalRequest;
 import simsek.ali.VeterinaryManagementProject.dto.response.AnimalResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.CursorPageResponse;
 import simsek.ali.VeterinaryManagementProject.dto.response.CustomerResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ImportResultResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.SliceResponse;
 import simsek.ali.VeterinaryManagementProject.entity.Animal;
+import simsek.ali.VeterinaryManagementProject.entity.Customer;
 import simsek.ali.VeterinaryManagementProject.exception.DuplicateDataException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityAlreadyExistException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityNotFoundException;
 import simsek.ali.VeterinaryManagementProject.repository.AnimalRepository;
-
+import simsek.ali.VeterinaryManagementProject.repository.projection.AnimalView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "vetapp.service", histogram = true)
 public class AnimalService {
 
+    private static final KeysetCursor BY_ID = KeysetCursor.byId();
+
     private final AnimalRepository animalRepository;
-    private final ModelMapper modelMapper;
+    private final AnimalMapper animalMapper;
     private final CustomerService customerService;
+    private final ImportBatchWriter importBatchWriter;
+    private final NameSearchIndex nameSearchIndex;
+    private final ObjectMapper objectMapper;
+
+    private record AnimalKey(String name, String species, String gender, LocalDate dateOfBirth) {
+    }
 
-    public Page<AnimalResponse> findAllAnimals(int pageNumber, int pageSize) {
+    public Slice<AnimalResponse> findAllAnimals(int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return animalRepository.findAll(pageable).map(animal -> modelMapper.map(animal, AnimalResponse.class));
+        Slice<AnimalView> animals = withTotal ? animalRepository.findViewPage(pageable) : animalRepository.findViewSlice(pageable);
+        return SliceResponse.of(animals.map(animalMapper::toResponse));
     }
 
     public AnimalResponse findAnimalById(Long id) {
-        return modelMapper.map(animalRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id, Animal.class))
-                , AnimalResponse.class);
+        return animalMapper.toResponse(animalRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id, Animal.class)));
     }
 
-    public Page<AnimalResponse> findAnimalsByName(String name, int pageNumber, int pageSize) {
+    public Slice<AnimalResponse> findAnimalsByName(String name, int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return animalRepository.findByNameContainingIgnoreCase(name, pageable).map(animal -> modelMapper.map(animal, AnimalResponse.class));
+        Slice<AnimalView> animals;
+        if (nameSearchIndex.isReady()) {
+            animals = IdPages.of(nameSearchIndex.animals().search(name), pageable, withTotal, animalRepository::findViewsByIdIn, AnimalView::id);
+        } else {
+            animals = withTotal
+                    ? animalRepository.findViewPageByName(name, pageable)
+                    : animalRepository.findViewSliceByName(name, pageable);
+        }
+        return SliceResponse.of(animals.map(animalMapper::toResponse));
     }
 
-    public Page<AnimalResponse> findAnimalsByCustomer(String customerName, int pageNumber, int pageSize) {
+    /**
+     * Çok sayıda müşteri eşleşirse (NameSearchIndex.MAX_ID_FILTER) LIKE sorgusu kullanılır.
+     */
+    public Slice<AnimalResponse> findAnimalsByCustomer(String customerName, int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return animalRepository.findByCustomer_NameContainingIgnoreCase(customerName, pageable).map(animal -> modelMapper.map(animal, AnimalResponse.class));
+        long[] customerIds = nameSearchIndex.isReady() ? nameSearchIndex.customers().search(customerName) : null;
+        Slice<AnimalView> animals;
+        if (customerIds != null && customerIds.length == 0) {
+            animals = IdPages.empty(pageable, withTotal);
+        } else if (customerIds != null && customerIds.length <= NameSearchIndex.MAX_ID_FILTER) {
+            animals = withTotal
+                    ? animalRepository.findViewPageByCustomerIdIn(IdPages.toList(customerIds), pageable)
+                    : animalRepository.findViewSliceByCustomerIdIn(IdPages.toList(customerIds), pageable);
+        } else {
+            animals = withTotal
+                    ? animalRepository.findViewPageByCustomerName(customerName, pageable)
+                    : animalRepository.findViewSliceByCustomerName(customerName, pageable);
+        }
+        return SliceResponse.of(animals.map(animalMapper::toResponse));
+    }
+
+    public CursorPageResponse<AnimalResponse> scrollAllAnimals(String after, int limit) {
+        return BY_ID.toResponse(animalRepository.findAllBy(BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(animalMapper::toResponse));
+    }
+
+    public CursorPageResponse<AnimalResponse> scrollAnimalsByName(String name, String after, int limit) {
+        return BY_ID.toResponse(animalRepository.findByNameContainingIgnoreCase(name, BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(animalMapper::toResponse));
+    }
+
+    public CursorPageResponse<AnimalResponse> scrollAnimalsByCustomer(String customerName, String after, int limit) {
+        return BY_ID.toResponse(animalRepository.findByCustomer_NameContainingIgnoreCase(customerName, BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(animalMapper::toResponse));
     }
 
     public AnimalResponse createAnimal(AnimalRequest animalRequest) {
@@ -56,10 +128,47 @@ public class AnimalService {
         }
         Animal newAnimal = null;
         if (customerFromDb.isPresent()) {
-            newAnimal = modelMapper.map(animalRequest, Animal.class);
+            newAnimal = animalMapper.toEntity(animalRequest);
+        }
+
+        return animalMapper.toResponse(animalRepository.save(newAnimal));
+    }
+
+    public ImportResultResponse importAnimals(InputStream in, MediaType contentType) throws IOException {
+        ImportResultResponse result = new ImportResultResponse();
+        try (ImportReader<AnimalImportRequest> reader = ImportReader.open(objectMapper, in, contentType, AnimalImportRequest.class)) {
+            reader.forEachChunk(result, chunk -> importAnimalChunk(chunk, result));
         }
+        return result;
+    }
 
-        return modelMapper.map(animalRepository.save(newAnimal), AnimalResponse.class);
+    private void importAnimalChunk(List<ImportRow<AnimalImportRequest>> chunk, ImportResultResponse result) {
+        Set<String> names = chunk.stream().map(row -> row.value().getName()).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<AnimalKey> taken = new HashSet<>();
+        for (var animal : animalRepository.findIdentitiesByNameIn(names)) {
+            taken.add(new AnimalKey(animal.getName(), animal.getSpecies(), animal.getGender(), animal.getDateOfBirth()));
+        }
+        Set<Long> customerIds = customerService.findExistingCustomerIds(chunk.stream()
+                .map(row -> row.value().getCustomerId()).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        List<ImportRow<AnimalImportRequest>> accepted = new ArrayList<>(chunk.size());
+        List<Animal> animals = new ArrayList<>(chunk.size());
+        for (ImportRow<AnimalImportRequest> row : chunk) {
+            AnimalImportRequest animalRequest = row.value();
+            if (animalRequest.getName() == null || animalRequest.getName().isBlank()) {
+                result.addError(row.number(), "'name' alanı boş olamaz.");
+            } else if (animalRequest.getCustomerId() == null) {
+                result.addError(row.number(), "'customerId' alanı boş olamaz.");
+            } else if (!customerIds.contains(animalRequest.getCustomerId())) {
+                result.addError(row.number(), new EntityNotFoundException(animalRequest.getCustomerId(), Customer.class).getMessage());
+            } else if (!taken.add(new AnimalKey(animalRequest.getName(), animalRequest.getSpecies(), animalRequest.getGender(), animalRequest.getDateOfBirth()))) {
+                result.addError(row.number(), new EntityAlreadyExistException(Animal.class).getMessage());
+            } else {
+                accepted.add(row);
+                animals.add(animalMapper.toEntity(animalRequest));
+            }
+        }
+        importBatchWriter.write(animalRepository, animals, accepted, result);
     }
 
     public AnimalResponse updateAnimal(Long id, AnimalRequest animalRequest) {
@@ -75,8 +184,8 @@ public class AnimalService {
         }
 
         Animal updatedAnimal = animalFromDb.get();
-        modelMapper.map(animalRequest, updatedAnimal);
-        return modelMapper.map(animalRepository.save(updatedAnimal), AnimalResponse.class);
+        animalMapper.updateEntity(animalRequest, updatedAnimal);
+        return animalMapper.toResponse(animalRepository.save(updatedAnimal));
     }
 
     public String deleteAnimal(Long id) {
@@ -1,136 +1,475 @@
 package simsek.ali.VeterinaryManagementProject.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import simsek.ali.VeterinaryManagementProject.core.config.ScheduleProperties;
+import simsek.ali.VeterinaryManagementProject.core.export.NdjsonWriter;
+import simsek.ali.VeterinaryManagementProject.core.index.ReportSearchIndex;
+import simsek.ali.VeterinaryManagementProject.core.index.SlotOccupancyIndex;
+import simsek.ali.VeterinaryManagementProject.core.lock.DoctorDayLocks;
+import simsek.ali.VeterinaryManagementProject.core.pagination.KeysetCursor;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.AppointmentMapper;
 import simsek.ali.VeterinaryManagementProject.dto.request.AppointmentRequest;
+import simsek.ali.VeterinaryManagementProject.dto.request.AppointmentScheduleRequest;
 import simsek.ali.VeterinaryManagementProject.dto.response.AppointmentResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.AvailableSlotResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.CursorPageResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ScheduleResultResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.SliceResponse;
+import simsek.ali.VeterinaryManagementProject.entity.Animal;
 import simsek.ali.VeterinaryManagementProject.entity.Appointment;
-import simsek.ali.VeterinaryManagementProject.entity.WorkDay;
 import simsek.ali.VeterinaryManagementProject.exception.DoctorAppointmentConflictException;
 import simsek.ali.VeterinaryManagementProject.exception.DoctorNotAvailableException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityAlreadyExistException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityNotFoundException;
+import simsek.ali.VeterinaryManagementProject.exception.InvalidAppointmentDurationException;
+import simsek.ali.VeterinaryManagementProject.repository.AnimalRepository;
 import simsek.ali.VeterinaryManagementProject.repository.AppointmentRepository;
-
+import simsek.ali.VeterinaryManagementProject.repository.WorkDayRepository;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AppointmentView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.DoctorSlotView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.DoctorWorkDayView;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "vetapp.service", histogram = true)
 public class AppointmentService {
 
-    private final AppointmentRepository appointmentRepository;
-    private final WorkDayService workDayService;
-    private final ModelMapper modelMapper;
+    private static final KeysetCursor BY_ID = KeysetCursor.byId();
+    private static final KeysetCursor BY_DATE = KeysetCursor.by("appointmentDate", LocalDateTime::parse);
+    private static final int MAX_AVAILABLE_SLOTS = 100;
+    private static final int MAX_DURATION_MINUTES = 12 * 60;
+    private static final Comparator<AvailableSlotResponse> SLOT_ORDER =
+            Comparator.comparing(AvailableSlotResponse::getAppointmentDate).thenComparing(AvailableSlotResponse::getDoctorId);
 
-    public Page<AppointmentResponse> findAllAppointments (int pageNumber, int pageSize){
+    private final AppointmentRepository appointmentRepository;
+    private final WorkDayRepository workDayRepository;
+    private final AnimalRepository animalRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final ReportSearchIndex reportSearchIndex;
+    private final DoctorDayLocks doctorDayLocks;
+    private final AppointmentMapper appointmentMapper;
+    private final ScheduleProperties scheduleProperties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public Slice<AppointmentResponse> findAllAppointments (int pageNumber, int pageSize, boolean withTotal){
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return appointmentRepository.findAll(pageable).map(appointment ->modelMapper.map(appointment, AppointmentResponse.class) );
+        Slice<AppointmentView> appointments = withTotal ? appointmentRepository.findViewPage(pageable) : appointmentRepository.findViewSlice(pageable);
+        return SliceResponse.of(appointments.map(appointmentMapper::toResponse));
     }
 
     public AppointmentResponse findAppointmentByIdResponse(Long id){
-        return modelMapper.map(appointmentRepository.findById(id).orElseThrow(()-> new EntityNotFoundException(id, Appointment.class))
-                , AppointmentResponse.class);
+        return appointmentMapper.toResponse(appointmentRepository.findById(id).orElseThrow(()-> new EntityNotFoundException(id, Appointment.class)));
     }
 
     public Appointment findAppointmenById(Long id){
         return appointmentRepository.findById(id).orElseThrow(()-> new EntityNotFoundException(id, Appointment.class));
     }
 
-    public Page<AppointmentResponse> findAppointmentByDoctorIdAndDateRange(Long doctorId, LocalDate startDate, LocalDate endDate, int pageNumber, int pageSize) {
+    public Slice<AppointmentResponse> findAppointmentByDoctorIdAndDateRange(Long doctorId, LocalDate startDate, LocalDate endDate, int pageNumber, int pageSize, boolean withTotal) {
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
         if (doctorId==null){
-            return appointmentRepository.findByAppointmentDateBetween(startDate.atStartOfDay(),endDate.atStartOfDay(), pageable).map(appointment ->modelMapper.map(appointment, AppointmentResponse.class));
+            return findAppointmentByDateRange(startDate, endDate, pageable, withTotal);
         }
-        return appointmentRepository.findByDoctorIdAndAppointmentDateBetween(doctorId,startDate.atStartOfDay(),endDate.atStartOfDay(), pageable).map(appointment ->modelMapper.map(appointment, AppointmentResponse.class));
+        Slice<AppointmentView> appointments = withTotal
+                ? appointmentRepository.findViewPageByDoctorIdAndDateRange(doctorId,startDate.atStartOfDay(),endDate.atStartOfDay(), pageable)
+                : appointmentRepository.findViewSliceByDoctorIdAndDateRange(doctorId,startDate.atStartOfDay(),endDate.atStartOfDay(), pageable);
+        return SliceResponse.of(appointments.map(appointmentMapper::toResponse));
     }
 
-    public Page<AppointmentResponse> findAppointmentByAnimalIdAndDateRange(Long animalId, LocalDate startDate, LocalDate endDate, int pageNumber, int pageSize) {
+    public Slice<AppointmentResponse> findAppointmentByAnimalIdAndDateRange(Long animalId, LocalDate startDate, LocalDate endDate, int pageNumber, int pageSize, boolean withTotal) {
 
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
 
         if (animalId==null){
-            return appointmentRepository.findByAppointmentDateBetween(startDate.atStartOfDay(),endDate.atStartOfDay(), pageable).map(appointment ->modelMapper.map(appointment, AppointmentResponse.class));
+            return findAppointmentByDateRange(startDate, endDate, pageable, withTotal);
         }
-        return appointmentRepository.findByAnimalIdAndAppointmentDateBetween(animalId,startDate.atStartOfDay(),endDate.atStartOfDay(), pageable).map(appointment ->modelMapper.map(appointment, AppointmentResponse.class));
+        Slice<AppointmentView> appointments = withTotal
+                ? appointmentRepository.findViewPageByAnimalIdAndDateRange(animalId,startDate.atStartOfDay(),endDate.atStartOfDay(), pageable)
+                : appointmentRepository.findViewSliceByAnimalIdAndDateRange(animalId,startDate.atStartOfDay(),endDate.atStartOfDay(), pageable);
+        return SliceResponse.of(appointments.map(appointmentMapper::toResponse));
     }
 
-    public AppointmentResponse createAppointment(AppointmentRequest appointmentRequest){
+    private Slice<AppointmentResponse> findAppointmentByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable, boolean withTotal) {
+        Slice<AppointmentView> appointments = withTotal
+                ? appointmentRepository.findViewPageByDateRange(startDate.atStartOfDay(),endDate.atStartOfDay(), pageable)
+                : appointmentRepository.findViewSliceByDateRange(startDate.atStartOfDay(),endDate.atStartOfDay(), pageable);
+        return SliceResponse.of(appointments.map(appointmentMapper::toResponse));
+    }
 
-        Optional<Appointment> existAppointmentWithSameSpecs =
-                appointmentRepository.findByAppointmentDateAndDoctorIdAndAnimalId(appointmentRequest.getAppointmentDate(), appointmentRequest.getDoctor().getId(), appointmentRequest.getAnimal().getId());
+    public CursorPageResponse<AppointmentResponse> scrollAllAppointments (String after, int limit){
+        return BY_ID.toResponse(appointmentRepository.findAllBy(BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(appointmentMapper::toResponse));
+    }
 
-        Optional<WorkDay> existsWorkDayByDoctorIdAndDate =
-                workDayService.findByDoctorIdAndDate(appointmentRequest.getDoctor().getId(), appointmentRequest.getAppointmentDate().toLocalDate());
+    public CursorPageResponse<AppointmentResponse> scrollAppointmentByDoctorIdAndDateRange(Long doctorId, LocalDate startDate, LocalDate endDate, String after, int limit) {
 
-        Optional<Appointment> existAppointmentWithDateAndDoctorId =
-                appointmentRepository.findByAppointmentDateAndDoctorId(appointmentRequest.getAppointmentDate(), appointmentRequest.getDoctor().getId());
+        ScrollPosition position = BY_DATE.position(after);
 
-        if (existAppointmentWithSameSpecs.isPresent()){
-            throw new EntityAlreadyExistException(Appointment.class);
+        if (doctorId==null){
+            return BY_DATE.toResponse(appointmentRepository.findByAppointmentDateBetween(startDate.atStartOfDay(), endDate.atStartOfDay(), position, BY_DATE.limit(limit), BY_DATE.sort())
+                    .map(appointmentMapper::toResponse));
         }
+        return BY_DATE.toResponse(appointmentRepository.findByDoctorIdAndAppointmentDateBetween(doctorId, startDate.atStartOfDay(), endDate.atStartOfDay(), position, BY_DATE.limit(limit), BY_DATE.sort())
+                .map(appointmentMapper::toResponse));
+    }
 
-        if (existsWorkDayByDoctorIdAndDate.isEmpty()){
-            throw new DoctorNotAvailableException(appointmentRequest.getAppointmentDate().toLocalDate());
-        }
+    public CursorPageResponse<AppointmentResponse> scrollAppointmentByAnimalIdAndDateRange(Long animalId, LocalDate startDate, LocalDate endDate, String after, int limit) {
 
-        if (existAppointmentWithDateAndDoctorId.isPresent()){
-            throw new DoctorAppointmentConflictException(appointmentRequest.getAppointmentDate().toLocalDate());
+        ScrollPosition position = BY_DATE.position(after);
+
+        if (animalId==null){
+            return BY_DATE.toResponse(appointmentRepository.findByAppointmentDateBetween(startDate.atStartOfDay(), endDate.atStartOfDay(), position, BY_DATE.limit(limit), BY_DATE.sort())
+                    .map(appointmentMapper::toResponse));
         }
+        return BY_DATE.toResponse(appointmentRepository.findByAnimalIdAndAppointmentDateBetween(animalId, startDate.atStartOfDay(), endDate.atStartOfDay(), position, BY_DATE.limit(limit), BY_DATE.sort())
+                .map(appointmentMapper::toResponse));
+    }
 
-        Appointment newAppointment = modelMapper.map(appointmentRequest, Appointment.class);
-        return modelMapper.map(appointmentRepository.save(newAppointment), AppointmentResponse.class);
+    /**
+     * from ile to (dahil) arasındaki en erken boş slotlar; doktorlar paralel değerlendirilir.
+     */
+    public List<AvailableSlotResponse> findNextAvailableSlots(LocalDate from, LocalDate to, Long doctorId, int limit) {
+        int maxSlots = Math.max(1, Math.min(limit, MAX_AVAILABLE_SLOTS));
+
+        Map<Long, List<DoctorWorkDayView>> workDaysByDoctor = workDayRepository.findDoctorWorkDays(doctorId, from, to).stream()
+                .collect(Collectors.groupingBy(DoctorWorkDayView::getDoctorId));
+        Map<Long, List<DoctorSlotView>> bookedByDoctor = appointmentRepository.findDoctorSlotsByDateRange(doctorId, from.atStartOfDay(), to.plusDays(1).atStartOfDay()).stream()
+                .collect(Collectors.groupingBy(DoctorSlotView::getDoctorId));
+        LocalDateTime notBefore = LocalDateTime.now();
+
+        return workDaysByDoctor.entrySet().parallelStream()
+                .flatMap(doctor -> freeSlots(doctor.getValue(), bookedByDoctor.getOrDefault(doctor.getKey(), List.of()), notBefore, maxSlots).stream())
+                .sorted(SLOT_ORDER)
+                .limit(maxSlots)
+                .toList();
     }
 
-    public AppointmentResponse updateAppointment (Long id, AppointmentRequest appointmentRequest){
+    /**
+     * İstekleri en erken bitiş sınırından (latest) başlayarak penceresindeki ilk boş slota yerleştirir. Plan kilitsiz
+     * okunan veriyle yapılır; yazmadan önce doktor/gün çiftleri kilitlenir ve her slot yeniden kontrol edilir.
+     */
+    public ScheduleResultResponse scheduleAppointments(List<AppointmentScheduleRequest> requests) {
+        ScheduleResultResponse result = new ScheduleResultResponse();
+
+        Set<Long> existingAnimalIds = new HashSet<>(animalRepository.findExistingIds(requests.stream()
+                .map(AppointmentScheduleRequest::getAnimalId).filter(Objects::nonNull).distinct().toList()));
+        List<Integer> placeable = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            AppointmentScheduleRequest request = requests.get(i);
+            if (request.getAnimalId() == null) {
+                result.addUnplaced(i, null, "'animalId' alanı boş olamaz.");
+            } else if (request.getEarliest() == null || request.getLatest() == null || request.getLatest().isBefore(request.getEarliest())) {
+                result.addUnplaced(i, request.getAnimalId(), "'earliest' ve 'latest' alanları geçerli bir zaman aralığı olmalıdır.");
+            } else if (!existingAnimalIds.contains(request.getAnimalId())) {
+                result.addUnplaced(i, request.getAnimalId(), new EntityNotFoundException(request.getAnimalId(), Animal.class).getMessage());
+            } else {
+                placeable.add(i);
+            }
+        }
+        if (placeable.isEmpty()) {
+            return result;
+        }
 
-        Optional<Appointment> appointmentFromDb = appointmentRepository.findById(id);
+        LocalDate firstDay = placeable.stream().map(i -> requests.get(i).getEarliest().toLocalDate()).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate lastDay = placeable.stream().map(i -> requests.get(i).getLatest().toLocalDate()).max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, List<DoctorSlotView>> bookedByDoctor = appointmentRepository.findDoctorSlotsByDateRange(null, firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay()).stream()
+                .collect(Collectors.groupingBy(DoctorSlotView::getDoctorId));
+        LocalDateTime notBefore = LocalDateTime.now();
+        TreeSet<AvailableSlotResponse> freeSlots = new TreeSet<>(SLOT_ORDER);
+        workDayRepository.findDoctorWorkDays(null, firstDay, lastDay).stream()
+                .collect(Collectors.groupingBy(DoctorWorkDayView::getDoctorId))
+                .forEach((doctorId, workDays) -> freeSlots.addAll(freeSlots(workDays, bookedByDoctor.getOrDefault(doctorId, List.of()), notBefore, Integer.MAX_VALUE)));
+
+        placeable.sort(Comparator.comparing((Integer i) -> requests.get(i).getLatest()).thenComparing(i -> requests.get(i).getEarliest()));
+        List<Integer> placedIndexes = new ArrayList<>();
+        List<AvailableSlotResponse> placedSlots = new ArrayList<>();
+        for (Integer index : placeable) {
+            AppointmentScheduleRequest request = requests.get(index);
+            AvailableSlotResponse slot = takeFirstSlot(freeSlots, request);
+            if (slot == null) {
+                result.addUnplaced(index, request.getAnimalId(), "İstenen zaman aralığında boş randevu bulunamadı.");
+            } else {
+                placedIndexes.add(index);
+                placedSlots.add(slot);
+            }
+        }
 
-        if (appointmentFromDb.isEmpty()){
-            throw new EntityNotFoundException(id, Appointment.class);
+        if (!placedSlots.isEmpty()) {
+            Set<DoctorDayLocks.Key> keys = placedSlots.stream()
+                    .map(slot -> new DoctorDayLocks.Key(slot.getDoctorId(), slot.getAppointmentDate().toLocalDate()))
+                    .collect(Collectors.toSet());
+            ScheduleResultResponse booked = new ScheduleResultResponse();
+            try {
+                doctorDayLocks.withLocks(keys, () -> {
+                    keys.forEach(key -> syncSlots(key.doctorId(), key.day()));
+                    bookPlaced(requests, placedIndexes, placedSlots, booked);
+                    return null;
+                });
+                result.addAll(booked);
+            } catch (DataIntegrityViolationException e) {
+                // Kilitlerin dışından yazılmış bir randevu bir satırı reddettirdi; satırlar tek tek denenir.
+                for (int i = 0; i < placedSlots.size(); i++) {
+                    bookOne(requests, placedIndexes.get(i), placedSlots.get(i), result);
+                }
+            }
         }
+        result.getAppointments().sort(Comparator.comparingInt(ScheduleResultResponse.ScheduledAppointment::getIndex));
+        result.getUnplacedRequests().sort(Comparator.comparingInt(ScheduleResultResponse.UnplacedRequest::getIndex));
+        return result;
+    }
 
-        Optional<Appointment> existAppointmentWithSameSpecs =
-                appointmentRepository.findByAppointmentDateAndDoctorIdAndAnimalId(appointmentRequest.getAppointmentDate(), appointmentRequest.getDoctor().getId(), appointmentRequest.getAnimal().getId());
+    /**
+     * Doktor/gün kilitleri tutulurken çağrılır; veritabanı bir satırı reddederse hiçbir satır yazılmaz.
+     */
+    private void bookPlaced(List<AppointmentScheduleRequest> requests, List<Integer> placedIndexes, List<AvailableSlotResponse> placedSlots,
+                            ScheduleResultResponse result) {
+        Duration slotLength = scheduleProperties.duration(null);
+        List<Integer> indexes = new ArrayList<>(placedSlots.size());
+        List<AvailableSlotResponse> slots = new ArrayList<>(placedSlots.size());
+        List<Appointment> appointments = new ArrayList<>(placedSlots.size());
+        for (int i = 0; i < placedSlots.size(); i++) {
+            AvailableSlotResponse slot = placedSlots.get(i);
+            Long animalId = requests.get(placedIndexes.get(i)).getAnimalId();
+            RuntimeException conflict = slotConflict(slotOccupancyIndex.status(slot.getDoctorId(), slot.getAppointmentDate(), slotLength, animalId),
+                    slot.getAppointmentDate().toLocalDate());
+            if (conflict != null) {
+                result.addUnplaced(placedIndexes.get(i), animalId, conflict.getMessage());
+            } else {
+                indexes.add(placedIndexes.get(i));
+                slots.add(slot);
+                appointments.add(scheduledAppointment(slot, animalId, slotLength));
+            }
+        }
 
-        if (existAppointmentWithSameSpecs.isPresent()){
-            throw new EntityAlreadyExistException(Appointment.class);
+        transactionTemplate.executeWithoutResult(status -> appointmentRepository.saveAllAndFlush(appointments));
+
+        for (int i = 0; i < slots.size(); i++) {
+            Appointment appointment = appointments.get(i);
+            AvailableSlotResponse slot = slots.get(i);
+            slotOccupancyIndex.book(slot.getDoctorId(), slot.getAppointmentDate(), slotLength, appointment.getAnimal().getId());
+            result.addScheduled(new ScheduleResultResponse.ScheduledAppointment(indexes.get(i), appointment.getId(),
+                    appointment.getAnimal().getId(), slot.getDoctorId(), slot.getDoctorName(), slot.getAppointmentDate()));
         }
+    }
+
+    private void bookOne(List<AppointmentScheduleRequest> requests, int index, AvailableSlotResponse slot, ScheduleResultResponse result) {
+        LocalDate day = slot.getAppointmentDate().toLocalDate();
+        ScheduleResultResponse booked = new ScheduleResultResponse();
+        try {
+            doctorDayLocks.withLock(slot.getDoctorId(), day, () -> {
+                syncSlots(slot.getDoctorId(), day);
+                bookPlaced(requests, List.of(index), List.of(slot), booked);
+                return null;
+            });
+            result.addAll(booked);
+        } catch (DataIntegrityViolationException e) {
+            result.addUnplaced(index, requests.get(index).getAnimalId(), new DoctorAppointmentConflictException(day).getMessage());
+        }
+    }
 
-        Optional<WorkDay> existsWorkDayByDoctorIdAndDate =
-                workDayService.findByDoctorIdAndDate(appointmentRequest.getDoctor().getId(), appointmentRequest.getAppointmentDate().toLocalDate());
+    private Appointment scheduledAppointment(AvailableSlotResponse slot, Long animalId, Duration slotLength) {
+        return appointmentMapper.toEntity(slot.getDoctorId(), animalId, slot.getAppointmentDate(), (int) slotLength.toMinutes());
+    }
 
-        if (existsWorkDayByDoctorIdAndDate.isEmpty()){
-            throw new DoctorNotAvailableException(appointmentRequest.getAppointmentDate().toLocalDate());
+    private static AvailableSlotResponse takeFirstSlot(TreeSet<AvailableSlotResponse> freeSlots, AppointmentScheduleRequest request) {
+        AvailableSlotResponse from = new AvailableSlotResponse(Long.MIN_VALUE, null, request.getEarliest());
+        for (Iterator<AvailableSlotResponse> it = freeSlots.tailSet(from, true).iterator(); it.hasNext(); ) {
+            AvailableSlotResponse slot = it.next();
+            if (slot.getAppointmentDate().isAfter(request.getLatest())) {
+                return null;
+            }
+            if (request.getDoctorId() == null || request.getDoctorId().equals(slot.getDoctorId())) {
+                it.remove();
+                return slot;
+            }
         }
+        return null;
+    }
 
-        Optional<Appointment> existAppointmentWithDateAndDoctorId =
-                appointmentRepository.findByAppointmentDateAndDoctorId(appointmentRequest.getAppointmentDate(), appointmentRequest.getDoctor().getId());
+    /**
+     * Randevular başlangıca göre sıralıdır; slottan önce başlayanların en geç bitişi (bookedUntil) slotun
+     * başlangıcını geçiyorsa slot doludur.
+     */
+    private List<AvailableSlotResponse> freeSlots(List<DoctorWorkDayView> workDays, List<DoctorSlotView> booked, LocalDateTime notBefore, int limit) {
+        Duration slotLength = scheduleProperties.duration(null);
+        List<AvailableSlotResponse> free = new ArrayList<>();
+        LocalDate previousDay = null;
+        LocalDateTime bookedUntil = LocalDateTime.MIN;
+        int next = 0;
+
+        for (DoctorWorkDayView workDay : workDays) {
+            if (workDay.getWorkDay().equals(previousDay)) {
+                continue;
+            }
+            previousDay = workDay.getWorkDay();
+            LocalDateTime closing = workDay.getWorkDay().atTime(scheduleProperties.getClosingTime());
+
+            for (LocalDateTime start = workDay.getWorkDay().atTime(scheduleProperties.getOpeningTime());
+                 !start.plus(slotLength).isAfter(closing); start = start.plus(slotLength)) {
+                LocalDateTime end = start.plus(slotLength);
+                while (next < booked.size() && booked.get(next).getAppointmentDate().isBefore(end)) {
+                    DoctorSlotView appointment = booked.get(next++);
+                    LocalDateTime appointmentEnd = appointment.getAppointmentDate().plus(scheduleProperties.duration(appointment.getDurationMinutes()));
+                    if (appointmentEnd.isAfter(bookedUntil)) {
+                        bookedUntil = appointmentEnd;
+                    }
+                }
+                if (start.isBefore(notBefore) || bookedUntil.isAfter(start)) {
+                    continue;
+                }
+                free.add(new AvailableSlotResponse(workDay.getDoctorId(), workDay.getDoctorName(), start));
+                if (free.size() == limit) {
+                    return free;
+                }
+            }
+        }
+        return free;
+    }
 
-        if (existAppointmentWithDateAndDoctorId.isPresent()){
-            throw new DoctorAppointmentConflictException(appointmentRequest.getAppointmentDate().toLocalDate());
+    @Transactional(readOnly = true)
+    public void exportAppointments(Long doctorId, LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (Stream<AppointmentView> appointments = appointmentRepository.streamViews(doctorId,
+                startDate != null ? startDate.atStartOfDay() : null,
+                endDate != null ? endDate.plusDays(1).atStartOfDay() : null);
+             NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+            writer.writeAll(appointments.map(appointmentMapper::toResponse));
         }
+    }
+
+    public AppointmentResponse createAppointment(AppointmentRequest appointmentRequest){
+
+        Duration duration = appointmentDuration(appointmentRequest);
+
+        return doctorDayLocks.withLock(appointmentRequest.getDoctor().getId(), appointmentRequest.getAppointmentDate().toLocalDate(), () -> {
+            syncSlots(appointmentRequest.getDoctor().getId(), appointmentRequest.getAppointmentDate().toLocalDate());
+            checkSlot(appointmentRequest, duration);
 
-        Appointment updatedAppointment = appointmentFromDb.get();
-        modelMapper.map(appointmentRequest, updatedAppointment);
-        return modelMapper.map(appointmentRepository.save(updatedAppointment), AppointmentResponse.class);
+            Appointment newAppointment = appointmentMapper.toEntity(appointmentRequest);
+            newAppointment.setDurationMinutes((int) duration.toMinutes());
+            Appointment savedAppointment = appointmentRepository.save(newAppointment);
+            slotOccupancyIndex.book(appointmentRequest.getDoctor().getId(), appointmentRequest.getAppointmentDate(), duration, appointmentRequest.getAnimal().getId());
+            return appointmentMapper.toResponse(savedAppointment);
+        });
     }
 
-    public String deleteAppointment (Long id){
-        Optional<Appointment> appointmentFromDb = appointmentRepository.findById(id);
+    public AppointmentResponse updateAppointment (Long id, AppointmentRequest appointmentRequest){
 
-        if (appointmentFromDb.isEmpty()){
-            throw new EntityNotFoundException(id, Appointment.class);
+        Duration duration = appointmentDuration(appointmentRequest);
+
+        // Randevu, aynı randevuyu değiştiren diğer istekler beklerken okunur; eski aralığı yalnızca bir güncelleme serbest bırakır.
+        return doctorDayLocks.withAppointmentLock(id, () -> {
+            Appointment updatedAppointment = appointmentRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id, Appointment.class));
+            Long oldDoctorId = updatedAppointment.getDoctor().getId();
+            LocalDateTime oldAppointmentDate = updatedAppointment.getAppointmentDate();
+            Long oldAnimalId = updatedAppointment.getAnimal().getId();
+            Duration oldDuration = scheduleProperties.duration(updatedAppointment.getDurationMinutes());
+
+            return doctorDayLocks.withLock(oldDoctorId, oldAppointmentDate.toLocalDate(),
+                    appointmentRequest.getDoctor().getId(), appointmentRequest.getAppointmentDate().toLocalDate(), () -> {
+                syncSlots(oldDoctorId, oldAppointmentDate.toLocalDate());
+                syncSlots(appointmentRequest.getDoctor().getId(), appointmentRequest.getAppointmentDate().toLocalDate());
+                // Randevu kendi eski aralığıyla çakışmasın diye kontrolden önce indeksten çıkarılır, hata olursa geri konur.
+                slotOccupancyIndex.release(oldDoctorId, oldAppointmentDate, oldDuration, oldAnimalId);
+                Appointment savedAppointment;
+                try {
+                    checkSlot(appointmentRequest, duration);
+
+                    appointmentMapper.updateEntity(appointmentRequest, updatedAppointment);
+                    updatedAppointment.setDurationMinutes((int) duration.toMinutes());
+                    savedAppointment = appointmentRepository.save(updatedAppointment);
+                } catch (RuntimeException e) {
+                    slotOccupancyIndex.book(oldDoctorId, oldAppointmentDate, oldDuration, oldAnimalId);
+                    throw e;
+                }
+                slotOccupancyIndex.book(appointmentRequest.getDoctor().getId(), appointmentRequest.getAppointmentDate(), duration, appointmentRequest.getAnimal().getId());
+                reportSearchIndex.moveAppointment(id, appointmentRequest.getAppointmentDate(), appointmentRequest.getDoctor().getId());
+                return appointmentMapper.toResponse(savedAppointment);
+            });
+        });
+    }
+
+    private Duration appointmentDuration(AppointmentRequest appointmentRequest){
+        Integer minutes = appointmentRequest.getDurationMinutes();
+        if (minutes != null && (minutes <= 0 || minutes > MAX_DURATION_MINUTES)){
+            throw new InvalidAppointmentDurationException(minutes);
+        }
+        return scheduleProperties.duration(minutes);
+    }
+
+    /**
+     * Advisory kilitlerle diğer örneklerin randevuları ancak gün yeniden okununca görülür.
+     */
+    private void syncSlots(Long doctorId, LocalDate day){
+        if (doctorDayLocks.isAdvisory()){
+            slotOccupancyIndex.reload(doctorId, day);
         }
-        else {
-            appointmentRepository.delete(appointmentFromDb.get());
-            return "Appointment deleted.";
+    }
+
+    private void checkSlot(AppointmentRequest appointmentRequest, Duration duration){
+        RuntimeException conflict = slotConflict(slotOccupancyIndex.status(appointmentRequest.getDoctor().getId(),
+                appointmentRequest.getAppointmentDate(), duration, appointmentRequest.getAnimal().getId()),
+                appointmentRequest.getAppointmentDate().toLocalDate());
+        if (conflict != null){
+            throw conflict;
         }
     }
+
+    private static RuntimeException slotConflict(SlotOccupancyIndex.SlotStatus slotStatus, LocalDate date){
+        return switch (slotStatus){
+            case DUPLICATE -> new EntityAlreadyExistException(Appointment.class);
+            case DOCTOR_NOT_WORKING -> new DoctorNotAvailableException(date);
+            case TAKEN -> new DoctorAppointmentConflictException(date);
+            case AVAILABLE -> null;
+        };
+    }
+
+    public String deleteAppointment (Long id){
+        return doctorDayLocks.withAppointmentLock(id, () -> {
+            Optional<Appointment> appointmentFromDb = appointmentRepository.findById(id);
+
+            if (appointmentFromDb.isEmpty()){
+                throw new EntityNotFoundException(id, Appointment.class);
+            }
+            Appointment appointment = appointmentFromDb.get();
+            LocalDate day = appointment.getAppointmentDate().toLocalDate();
+            return doctorDayLocks.withLock(appointment.getDoctor().getId(), day, () -> {
+                syncSlots(appointment.getDoctor().getId(), day);
+                appointmentRepository.delete(appointment);
+                slotOccupancyIndex.release(appointment.getDoctor().getId(), appointment.getAppointmentDate(),
+                        scheduleProperties.duration(appointment.getDurationMinutes()), appointment.getAnimal().getId());
+                return "Appointment deleted.";
+            });
+        });
+    }
 }
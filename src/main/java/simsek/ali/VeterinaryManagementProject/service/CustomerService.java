@@ -1,43 +1,168 @@
 package simsek.ali.VeterinaryManagementProject.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import simsek.ali.VeterinaryManagementProject.core.config.CacheConfig;
+import simsek.ali.VeterinaryManagementProject.core.index.NameSearchIndex;
+import simsek.ali.VeterinaryManagementProject.core.imports.ImportBatchWriter;
+import simsek.ali.VeterinaryManagementProject.core.imports.ImportReader;
+import simsek.ali.VeterinaryManagementProject.core.imports.ImportRow;
+import simsek.ali.VeterinaryManagementProject.core.pagination.IdPages;
+import simsek.ali.VeterinaryManagementProject.core.pagination.KeysetCursor;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.AnimalMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.AppointmentMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.CustomerMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.ReportMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.VaccinationMapper;
 import simsek.ali.VeterinaryManagementProject.dto.request.CustomerRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.CursorPageResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.CustomerOverviewResponse;
 import simsek.ali.VeterinaryManagementProject.dto.response.CustomerResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ImportResultResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ReportResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.SliceResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.VaccinationResponse;
 import simsek.ali.VeterinaryManagementProject.entity.Customer;
 import simsek.ali.VeterinaryManagementProject.exception.DuplicateDataException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityAlreadyExistException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityNotFoundException;
+import simsek.ali.VeterinaryManagementProject.repository.AnimalRepository;
+import simsek.ali.VeterinaryManagementProject.repository.AppointmentRepository;
 import simsek.ali.VeterinaryManagementProject.repository.CustomerRepository;
-
+import simsek.ali.VeterinaryManagementProject.repository.ReportRepository;
+import simsek.ali.VeterinaryManagementProject.repository.VaccinationRepository;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AnimalView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.AppointmentView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.ReportView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.VaccinationView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "vetapp.service", histogram = true)
 public class CustomerService {
 
+    private static final KeysetCursor BY_ID = KeysetCursor.byId();
+
     private final CustomerRepository customerRepository;
-    private final ModelMapper modelMapper;
+    private final CustomerMapper customerMapper;
+    private final AnimalRepository animalRepository;
+    private final AnimalMapper animalMapper;
+    private final VaccinationRepository vaccinationRepository;
+    private final VaccinationMapper vaccinationMapper;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentMapper appointmentMapper;
+    private final ReportRepository reportRepository;
+    private final ReportMapper reportMapper;
+    private final ImportBatchWriter importBatchWriter;
+    private final NameSearchIndex nameSearchIndex;
+    private final ObjectMapper objectMapper;
+
+    private record CustomerKey(String name, String email) {
+    }
 
-    public Page<CustomerResponse> findAllCustomers(int pageNumber, int pageSize) {
+    public Slice<CustomerResponse> findAllCustomers(int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
         //TODO LİSTE BOŞSA BULUNAMADI HATASI FIRLAT
-        return customerRepository.findAll(pageable).map(customer -> modelMapper.map(customer, CustomerResponse.class));
+        Slice<Customer> customers = withTotal ? customerRepository.findAll(pageable) : customerRepository.findSliceBy(pageable);
+        return SliceResponse.of(customers.map(customerMapper::toResponse));
     }
 
+    @Cacheable(CacheConfig.CUSTOMERS)
     public CustomerResponse findCustomerById(Long id) {
-        return modelMapper.map(customerRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id, Customer.class))
-                , CustomerResponse.class);
+        return customerMapper.toResponse(customerRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id, Customer.class)));
     }
 
-    public Page<CustomerResponse> findCustomersByName(String name, int pageNumber, int pageSize) {
+    /**
+     * Koleksiyonlar tür başına tek sorguyla çekilir; sorgu sayısı kayıt sayısından bağımsızdır.
+     */
+    @Transactional(readOnly = true)
+    public CustomerOverviewResponse findCustomerOverview(Long id) {
+        Customer customer = customerRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id, Customer.class));
+        CustomerOverviewResponse overview = new CustomerOverviewResponse();
+        overview.setCustomer(customerMapper.toResponse(customer));
+
+        List<AnimalView> animals = animalRepository.findViewsByCustomerId(id);
+        if (animals.isEmpty()) {
+            return overview;
+        }
+
+        Map<Long, List<VaccinationResponse>> vaccinationsByAnimal = new HashMap<>();
+        Map<Long, List<VaccinationResponse>> vaccinationsByReport = new HashMap<>();
+        for (VaccinationView vaccination : vaccinationRepository.findViewsByCustomerId(id)) {
+            VaccinationResponse response = vaccinationMapper.toResponse(vaccination);
+            if (id.equals(vaccination.customerId())) {
+                vaccinationsByAnimal.computeIfAbsent(vaccination.animalId(), animalId -> new ArrayList<>()).add(response);
+            }
+            if (vaccination.reportId() != null) {
+                vaccinationsByReport.computeIfAbsent(vaccination.reportId(), reportId -> new ArrayList<>()).add(response);
+            }
+        }
+
+        Map<Long, ReportResponse> reportsByAppointment = new HashMap<>();
+        for (ReportView report : reportRepository.findViewsByCustomerId(id)) {
+            reportsByAppointment.put(report.appointmentId(),
+                    reportMapper.toResponse(report, vaccinationsByReport.getOrDefault(report.id(), new ArrayList<>())));
+        }
+
+        Map<Long, List<CustomerOverviewResponse.AppointmentOverview>> appointmentsByAnimal = new HashMap<>();
+        for (AppointmentView appointment : appointmentRepository.findViewsByCustomerId(id)) {
+            appointmentsByAnimal.computeIfAbsent(appointment.animalId(), animalId -> new ArrayList<>())
+                    .add(new CustomerOverviewResponse.AppointmentOverview(appointmentMapper.toResponse(appointment),
+                            reportsByAppointment.get(appointment.id())));
+        }
+
+        for (AnimalView animal : animals) {
+            overview.getAnimals().add(new CustomerOverviewResponse.AnimalOverview(animalMapper.toResponse(animal),
+                    vaccinationsByAnimal.getOrDefault(animal.id(), new ArrayList<>()),
+                    appointmentsByAnimal.getOrDefault(animal.id(), new ArrayList<>())));
+        }
+        return overview;
+    }
+
+    public Slice<CustomerResponse> findCustomersByName(String name, int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
         //TODO LİSTE BOŞSA BULUNAMADI HATASI FIRLAT
-        return customerRepository.findByNameContainingIgnoreCase(name, pageable).map(customer -> modelMapper.map(customer, CustomerResponse.class));
+        Slice<Customer> customers;
+        if (nameSearchIndex.isReady()) {
+            customers = IdPages.of(nameSearchIndex.customers().search(name), pageable, withTotal, customerRepository::findAllById, Customer::getId);
+        } else {
+            customers = withTotal
+                    ? customerRepository.findByNameContainingIgnoreCase(name, pageable)
+                    : customerRepository.findSliceByNameContainingIgnoreCase(name, pageable);
+        }
+        return SliceResponse.of(customers.map(customerMapper::toResponse));
+    }
+
+    public CursorPageResponse<CustomerResponse> scrollAllCustomers(String after, int limit) {
+        return BY_ID.toResponse(customerRepository.findAllBy(BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(customerMapper::toResponse));
+    }
+
+    public CursorPageResponse<CustomerResponse> scrollCustomersByName(String name, String after, int limit) {
+        return BY_ID.toResponse(customerRepository.findByNameContainingIgnoreCase(name, BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(customerMapper::toResponse));
     }
 
     public CustomerResponse createCustomer(CustomerRequest customerRequest) {
@@ -46,10 +171,46 @@ public class CustomerService {
         if (existCustomerWithSameSpecs.isPresent()) {
             throw new EntityAlreadyExistException(Customer.class);
         }
-        Customer newCustomer = modelMapper.map(customerRequest, Customer.class);
-        return modelMapper.map(customerRepository.save(newCustomer), CustomerResponse.class);
+        Customer newCustomer = customerMapper.toEntity(customerRequest);
+        return customerMapper.toResponse(customerRepository.save(newCustomer));
+    }
+
+    public ImportResultResponse importCustomers(InputStream in, MediaType contentType) throws IOException {
+        ImportResultResponse result = new ImportResultResponse();
+        try (ImportReader<CustomerRequest> reader = ImportReader.open(objectMapper, in, contentType, CustomerRequest.class)) {
+            reader.forEachChunk(result, chunk -> importCustomerChunk(chunk, result));
+        }
+        return result;
+    }
+
+    private void importCustomerChunk(List<ImportRow<CustomerRequest>> chunk, ImportResultResponse result) {
+        Set<String> names = chunk.stream().map(row -> row.value().getName()).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<CustomerKey> taken = new HashSet<>();
+        for (var customer : customerRepository.findIdentitiesByNameIn(names)) {
+            taken.add(new CustomerKey(customer.getName(), customer.getEmail()));
+        }
+
+        List<ImportRow<CustomerRequest>> accepted = new ArrayList<>(chunk.size());
+        List<Customer> customers = new ArrayList<>(chunk.size());
+        for (ImportRow<CustomerRequest> row : chunk) {
+            CustomerRequest customerRequest = row.value();
+            if (customerRequest.getName() == null || customerRequest.getName().isBlank()) {
+                result.addError(row.number(), "'name' alanı boş olamaz.");
+            } else if (!taken.add(new CustomerKey(customerRequest.getName(), customerRequest.getEmail()))) {
+                result.addError(row.number(), new EntityAlreadyExistException(Customer.class).getMessage());
+            } else {
+                accepted.add(row);
+                customers.add(customerMapper.toEntity(customerRequest));
+            }
+        }
+        importBatchWriter.write(customerRepository, customers, accepted, result);
+    }
+
+    public Set<Long> findExistingCustomerIds(Collection<Long> ids) {
+        return ids.isEmpty() ? Set.of() : new HashSet<>(customerRepository.findExistingIds(ids));
     }
 
+    @CacheEvict(value = CacheConfig.CUSTOMERS, key = "#id")
     public CustomerResponse updateCustomer(Long id, CustomerRequest customerRequest) {
         Optional<Customer> customerFromDb = customerRepository.findById(id);
         Optional<Customer> existOtherCustomerFromRequest = customerRepository.findByNameAndEmail(customerRequest.getName(), customerRequest.getEmail());
@@ -63,11 +224,12 @@ public class CustomerService {
         }
 
         Customer updatedCustomer = customerFromDb.get();
-        modelMapper.map(customerRequest, updatedCustomer);
-        return modelMapper.map(customerRepository.save(updatedCustomer), CustomerResponse.class);
+        customerMapper.updateEntity(customerRequest, updatedCustomer);
+        return customerMapper.toResponse(customerRepository.save(updatedCustomer));
     }
 
 
+    @CacheEvict(value = CacheConfig.CUSTOMERS, key = "#id")
     public String deleteCustomer(Long id) {
         Optional<Customer> customerFromDb = customerRepository.findById(id);
         if (customerFromDb.isEmpty()) {
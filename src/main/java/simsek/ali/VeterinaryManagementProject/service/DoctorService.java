@@ -1,13 +1,23 @@
 package simsek.ali.VeterinaryManagementProject.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import simsek.ali.VeterinaryManagementProject.core.config.CacheConfig;
+import simsek.ali.VeterinaryManagementProject.core.index.NameSearchIndex;
+import simsek.ali.VeterinaryManagementProject.core.index.SlotOccupancyIndex;
+import simsek.ali.VeterinaryManagementProject.core.pagination.IdPages;
+import simsek.ali.VeterinaryManagementProject.core.pagination.KeysetCursor;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.DoctorMapper;
 import simsek.ali.VeterinaryManagementProject.dto.request.DoctorRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.CursorPageResponse;
 import simsek.ali.VeterinaryManagementProject.dto.response.DoctorResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.SliceResponse;
 import simsek.ali.VeterinaryManagementProject.entity.Doctor;
 import simsek.ali.VeterinaryManagementProject.exception.DuplicateDataException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityAlreadyExistException;
@@ -18,25 +28,49 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "vetapp.service", histogram = true)
 public class DoctorService {
 
+    private static final KeysetCursor BY_ID = KeysetCursor.byId();
+
     private final DoctorRepository doctorRepository;
-    private final ModelMapper modelMapper;
+    private final DoctorMapper doctorMapper;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final NameSearchIndex nameSearchIndex;
 
-    public Page<DoctorResponse> findAllDoctors (int pageNumber, int pageSize){
+    public Slice<DoctorResponse> findAllDoctors (int pageNumber, int pageSize, boolean withTotal){
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
         //TODO LİSTE BOŞSA BULUNAMADI HATASI FIRLAT
-        return doctorRepository.findAll(pageable).map(doctor -> modelMapper.map(doctor, DoctorResponse.class));
+        Slice<Doctor> doctors = withTotal ? doctorRepository.findAll(pageable) : doctorRepository.findSliceBy(pageable);
+        return SliceResponse.of(doctors.map(doctorMapper::toResponse));
     }
 
+    @Cacheable(CacheConfig.DOCTORS)
     public DoctorResponse findDoctorById (Long id){
-        return modelMapper.map(doctorRepository.findById(id).orElseThrow(()-> new EntityNotFoundException(id, Doctor.class))
-                , DoctorResponse.class);
+        return doctorMapper.toResponse(doctorRepository.findById(id).orElseThrow(()-> new EntityNotFoundException(id, Doctor.class)));
     }
 
-    public Page<DoctorResponse> findDoctorsByName(String name, int pageNumber, int pageSize) {
+    public Slice<DoctorResponse> findDoctorsByName(String name, int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return doctorRepository.findByNameContainingIgnoreCase(name, pageable).map(doctor -> modelMapper.map(doctor, DoctorResponse.class));
+        Slice<Doctor> doctors;
+        if (nameSearchIndex.isReady()) {
+            doctors = IdPages.of(nameSearchIndex.doctors().search(name), pageable, withTotal, doctorRepository::findAllById, Doctor::getId);
+        } else {
+            doctors = withTotal
+                    ? doctorRepository.findByNameContainingIgnoreCase(name, pageable)
+                    : doctorRepository.findSliceByNameContainingIgnoreCase(name, pageable);
+        }
+        return SliceResponse.of(doctors.map(doctorMapper::toResponse));
+    }
+
+    public CursorPageResponse<DoctorResponse> scrollAllDoctors (String after, int limit){
+        return BY_ID.toResponse(doctorRepository.findAllBy(BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(doctorMapper::toResponse));
+    }
+
+    public CursorPageResponse<DoctorResponse> scrollDoctorsByName(String name, String after, int limit) {
+        return BY_ID.toResponse(doctorRepository.findByNameContainingIgnoreCase(name, BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(doctorMapper::toResponse));
     }
 
     public Doctor findDoctor (Long id){
@@ -50,10 +84,11 @@ public class DoctorService {
             throw new EntityAlreadyExistException(Doctor.class);
         }
 
-        Doctor newDoctor = modelMapper.map(doctorRequest, Doctor.class);
-        return modelMapper.map(doctorRepository.save(newDoctor), DoctorResponse.class);
+        Doctor newDoctor = doctorMapper.toEntity(doctorRequest);
+        return doctorMapper.toResponse(doctorRepository.save(newDoctor));
     }
 
+    @CacheEvict(value = CacheConfig.DOCTORS, key = "#id")
     public DoctorResponse updateDoctor (Long id, DoctorRequest doctorRequest){
         Optional<Doctor> doctorFromDb = doctorRepository.findById(id);
         Optional<Doctor> existOtherDoctorFromRequest = doctorRepository.findByNameAndEmail(doctorRequest.getName(), doctorRequest.getEmail());
@@ -67,10 +102,11 @@ public class DoctorService {
         }
 
         Doctor updatedDoctor = doctorFromDb.get();
-        modelMapper.map(doctorRequest, updatedDoctor);
-        return modelMapper.map(doctorRepository.save(updatedDoctor), DoctorResponse.class);
+        doctorMapper.updateEntity(doctorRequest, updatedDoctor);
+        return doctorMapper.toResponse(doctorRepository.save(updatedDoctor));
     }
 
+    @CacheEvict(value = CacheConfig.DOCTORS, key = "#id")
     public String deleteDoctor (Long id){
         Optional<Doctor> doctorFromDb = doctorRepository.findById(id);
         if (doctorFromDb.isEmpty()){
@@ -78,6 +114,7 @@ public class DoctorService {
         }
         else {
             doctorRepository.delete(doctorFromDb.get());
+            slotOccupancyIndex.evictDoctor(id);
             return "Doctor deleted.";
         }
     }
@@ -1,13 +1,24 @@
 package simsek.ali.VeterinaryManagementProject.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import simsek.ali.VeterinaryManagementProject.core.export.NdjsonWriter;
+import simsek.ali.VeterinaryManagementProject.core.index.ReportSearchIndex;
+import simsek.ali.VeterinaryManagementProject.core.pagination.IdPages;
+import simsek.ali.VeterinaryManagementProject.core.pagination.KeysetCursor;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.ReportMapper;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.VaccinationMapper;
 import simsek.ali.VeterinaryManagementProject.dto.request.ReportRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.CursorPageResponse;
 import simsek.ali.VeterinaryManagementProject.dto.response.ReportResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.SliceResponse;
 import simsek.ali.VeterinaryManagementProject.dto.response.VaccinationResponse;
 import simsek.ali.VeterinaryManagementProject.entity.Appointment;
 import simsek.ali.VeterinaryManagementProject.entity.Report;
@@ -15,37 +26,134 @@ import simsek.ali.VeterinaryManagementProject.exception.DuplicateDataException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityAlreadyExistException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityNotFoundException;
 import simsek.ali.VeterinaryManagementProject.repository.ReportRepository;
-
+import simsek.ali.VeterinaryManagementProject.repository.VaccinationRepository;
+import simsek.ali.VeterinaryManagementProject.repository.projection.ReportView;
+import simsek.ali.VeterinaryManagementProject.repository.projection.VaccinationView;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "vetapp.service", histogram = true)
 public class ReportService {
 
+    private static final KeysetCursor BY_ID = KeysetCursor.byId();
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final ReportRepository reportRepository;
+    private final VaccinationRepository vaccinationRepository;
     private final AppointmentService appointmentService;
-    private final ModelMapper modelMapper;
+    private final ReportSearchIndex reportSearchIndex;
+    private final ReportMapper reportMapper;
+    private final VaccinationMapper vaccinationMapper;
+    private final ObjectMapper objectMapper;
 
-    public Page<ReportResponse> findAllReports(int pageNumber, int pageSize) {
+    public Slice<ReportResponse> findAllReports(int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return reportRepository.findAll(pageable).map(this::reportResponseDtoFromReport);
+        Slice<ReportView> reports = withTotal ? reportRepository.findViewPage(pageable) : reportRepository.findViewSlice(pageable);
+        Map<Long, List<VaccinationResponse>> vaccinationsByReport = findVaccinationsByReport(reports.map(ReportView::id).getContent());
+        return SliceResponse.of(reports.map(report ->
+                reportMapper.toResponse(report, vaccinationsByReport.getOrDefault(report.id(), new ArrayList<>()))));
     }
 
-    public ReportResponse findReportById(Long id) {
-        Report report = reportRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(id, Report.class));
-        return reportResponseDtoFromReport(report);
+    /**
+     * İndeks henüz kurulmadıysa eşleşmeler veritabanından bulunur.
+     */
+    public Slice<ReportResponse> searchReports(String query, Long doctorId, LocalDate startDate, LocalDate endDate, int pageNumber, int pageSize) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+        long[] ids = reportSearchIndex.isReady()
+                ? reportSearchIndex.search(query, doctorId, startDate, endDate)
+                : searchInDatabase(query, doctorId, startDate, endDate);
+        Slice<ReportView> reports = IdPages.of(ids, pageable, true, reportRepository::findViewsByIdIn, ReportView::id);
+        Map<Long, List<VaccinationResponse>> vaccinationsByReport = findVaccinationsByReport(reports.map(ReportView::id).getContent());
+        return reports.map(report ->
+                reportMapper.toResponse(report, vaccinationsByReport.getOrDefault(report.id(), new ArrayList<>())));
     }
 
-    public ReportResponse reportResponseDtoFromReport(Report report) {
-        ReportResponse reportResponse = modelMapper.map(report, ReportResponse.class);
-        if (report.getAppointment() != null && report.getAppointment().getAnimal() != null && report.getAppointment().getAnimal().getCustomer() != null) {
-            reportResponse.getAppointment().setCustomerName(report.getAppointment().getAnimal().getCustomer().getName());
-        } else {
-            reportResponse.getAppointment().setCustomerName(null);
+    /**
+     * Terimler alt dize olarak aranır ve puanlama yapılmaz; yeni rapor önce.
+     */
+    private long[] searchInDatabase(String query, Long doctorId, LocalDate startDate, LocalDate endDate) {
+        LocalDateTime from = startDate != null ? startDate.atStartOfDay() : null;
+        LocalDateTime to = endDate != null ? endDate.plusDays(1).atStartOfDay() : null;
+        Map<String, Set<Long>> idsByTerm = new HashMap<>();
+        Set<Long> matches = new TreeSet<>(Comparator.reverseOrder());
+        for (List<String> group : ReportSearchIndex.parse(query)) {
+            Set<Long> groupMatches = null;
+            for (String term : group) {
+                Set<Long> termMatches = idsByTerm.computeIfAbsent(term,
+                        key -> new HashSet<>(reportRepository.findIdsByText("%" + key + "%", doctorId, from, to)));
+                if (groupMatches == null) {
+                    groupMatches = new HashSet<>(termMatches);
+                } else {
+                    groupMatches.retainAll(termMatches);
+                }
+            }
+            matches.addAll(groupMatches);
         }
-        return reportResponse;
+        return matches.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportReports(Long doctorId, LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (Stream<ReportView> reports = reportRepository.streamViews(doctorId,
+                startDate != null ? startDate.atStartOfDay() : null,
+                endDate != null ? endDate.plusDays(1).atStartOfDay() : null);
+             NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+
+            Iterator<ReportView> iterator = reports.iterator();
+            List<ReportView> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    Map<Long, List<VaccinationResponse>> vaccinationsByReport = findVaccinationsByReport(chunk.stream().map(ReportView::id).toList());
+                    for (ReportView report : chunk) {
+                        writer.write(reportMapper.toResponse(report, vaccinationsByReport.getOrDefault(report.id(), new ArrayList<>())));
+                    }
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
+    private Map<Long, List<VaccinationResponse>> findVaccinationsByReport(List<Long> reportIds) {
+        Map<Long, List<VaccinationResponse>> vaccinationsByReport = new HashMap<>();
+        if (reportIds.isEmpty()) {
+            return vaccinationsByReport;
+        }
+
+        for (VaccinationView vaccination : vaccinationRepository.findViewsByReportIdIn(reportIds)) {
+            vaccinationsByReport.computeIfAbsent(vaccination.reportId(), reportId -> new ArrayList<>())
+                    .add(vaccinationMapper.toResponse(vaccination));
+        }
+        return vaccinationsByReport;
+    }
+
+    public CursorPageResponse<ReportResponse> scrollAllReports(String after, int limit) {
+        Window<Report> reports = reportRepository.findAllBy(BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort());
+        Map<Long, List<VaccinationResponse>> vaccinationsByReport = findVaccinationsByReport(reports.map(Report::getId).getContent());
+        return BY_ID.toResponse(reports.map(report ->
+                reportMapper.toResponse(report, vaccinationsByReport.getOrDefault(report.getId(), new ArrayList<>()))));
+    }
+
+    public ReportResponse findReportById(Long id) {
+        Report report = reportRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(id, Report.class));
+        return reportMapper.toResponse(report);
     }
 
     public ReportResponse createReport(ReportRequest reportRequest) {
@@ -56,10 +164,11 @@ public class ReportService {
         }
 
         Appointment appointmentFromDb = appointmentService.findAppointmenById(reportRequest.getAppointmentId());
-        reportRequest.setAppointmentId(null);
-        Report newReport = modelMapper.map(reportRequest, Report.class);
+        Report newReport = reportMapper.toEntity(reportRequest);
         newReport.setAppointment(appointmentFromDb);
-        return convertToDto(reportRepository.save(newReport));
+        Report savedReport = reportRepository.save(newReport);
+        index(savedReport);
+        return reportMapper.toResponse(savedReport);
     }
 
     public ReportResponse updateReport(Long id, ReportRequest reportRequest) {
@@ -81,7 +190,17 @@ public class ReportService {
         updatedReport.setDiagnosis(reportRequest.getDiagnosis());
         updatedReport.setPrice(reportRequest.getPrice());
         updatedReport.setAppointment(appointmentFromDb);
-        return convertToDto(reportRepository.save(updatedReport));
+        Report savedReport = reportRepository.save(updatedReport);
+        index(savedReport);
+        return reportMapper.toResponse(savedReport);
+    }
+
+    private void index(Report report) {
+        Appointment appointment = report.getAppointment();
+        reportSearchIndex.put(report.getId(), report.getTitle(), report.getDiagnosis(),
+                appointment != null ? appointment.getId() : null,
+                appointment != null ? appointment.getAppointmentDate() : null,
+                appointment != null && appointment.getDoctor() != null ? appointment.getDoctor().getId() : null);
     }
 
     public String deleteReport(Long id) {
@@ -90,17 +209,8 @@ public class ReportService {
             throw new EntityNotFoundException(id, Report.class);
         } else {
             reportRepository.delete(reportFromDb.get());
+            reportSearchIndex.remove(id);
             return "Report deleted.";
         }
     }
-
-    private ReportResponse convertToDto(Report report) {
-        ReportResponse response = modelMapper.map(report, ReportResponse.class);
-        if (report.getVaccinationList() != null) {
-            response.setVaccinationList(report.getVaccinationList().stream()
-                    .map(vaccination -> modelMapper.map(vaccination, VaccinationResponse.class))
-                    .collect(Collectors.toList()));
-        }
-        return response;
-    }
 }
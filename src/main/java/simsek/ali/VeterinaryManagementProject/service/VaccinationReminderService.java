@@ -0,0 +1,109 @@
+package simsek.ali.VeterinaryManagementProject.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import simsek.ali.VeterinaryManagementProject.core.reminder.ReminderProperties;
+import simsek.ali.VeterinaryManagementProject.core.reminder.ReminderSink;
+import simsek.ali.VeterinaryManagementProject.core.reminder.VaccinationReminder;
+import simsek.ali.VeterinaryManagementProject.repository.ReminderLockRepository;
+import simsek.ali.VeterinaryManagementProject.repository.VaccinationRepository;
+import simsek.ali.VeterinaryManagementProject.repository.projection.DueVaccinationView;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class VaccinationReminderService {
+
+    static final String LOCK = "vaccination-due";
+    private static final int MARK_CHUNK_SIZE = 1_000;
+
+    private final VaccinationRepository vaccinationRepository;
+    private final ReminderLockRepository reminderLockRepository;
+    private final ReminderProperties reminderProperties;
+    private final ReminderSink reminderSink;
+
+    /**
+     * Koruyuculuğu today + daysAhead gününe kadar bitecek ve bu bitiş tarihi için hatırlatılmamış aşıları müşteri
+     * başına yazar, sonra işaretler. Yazılan aşı sayısını döner.
+     */
+    @Transactional
+    public int emitDueReminders(LocalDate today) throws IOException {
+        // Satır önce eklenir ki ilk çalışmada da kilitlenecek bir satır olsun
+        reminderLockRepository.insertIfAbsent(LOCK);
+        reminderLockRepository.findWithLockByName(LOCK);
+
+        LocalDate horizon = today.plusDays(reminderProperties.getDaysAhead());
+        Map<LocalDate, List<Long>> emittedByFinishDate = new HashMap<>();
+
+        int emitted = 0;
+        try (Stream<DueVaccinationView> due = vaccinationRepository.streamDue(today, horizon);
+             ReminderSink.Batch batch = openOnFirstWrite(today)) {
+            Iterator<DueVaccinationView> iterator = due.iterator();
+            DueVaccinationView first = null;
+            List<VaccinationReminder.DueVaccination> vaccinations = new ArrayList<>();
+            while (iterator.hasNext()) {
+                DueVaccinationView row = iterator.next();
+                if (first != null && !first.customerId().equals(row.customerId())) {
+                    batch.write(toReminder(first, vaccinations));
+                    vaccinations = new ArrayList<>();
+                }
+                if (vaccinations.isEmpty()) {
+                    first = row;
+                }
+                vaccinations.add(new VaccinationReminder.DueVaccination(row.id(), row.name(), row.code(),
+                        row.protectionFinishDate(), row.animalId(), row.animalName()));
+                emittedByFinishDate.computeIfAbsent(row.protectionFinishDate(), date -> new ArrayList<>()).add(row.id());
+                emitted++;
+            }
+            if (!vaccinations.isEmpty()) {
+                batch.write(toReminder(first, vaccinations));
+            }
+        }
+
+        emittedByFinishDate.forEach((finishDate, ids) -> {
+            for (int from = 0; from < ids.size(); from += MARK_CHUNK_SIZE) {
+                vaccinationRepository.markReminded(ids.subList(from, Math.min(from + MARK_CHUNK_SIZE, ids.size())), finishDate);
+            }
+        });
+        return emitted;
+    }
+
+    /**
+     * Gönderilecek hatırlatma yoksa sink hiç açılmaz, her gece boş bir dosya oluşmaz.
+     */
+    private ReminderSink.Batch openOnFirstWrite(LocalDate today) {
+        return new ReminderSink.Batch() {
+
+            private ReminderSink.Batch batch;
+
+            @Override
+            public void write(VaccinationReminder reminder) throws IOException {
+                if (batch == null) {
+                    batch = reminderSink.open(today);
+                }
+                batch.write(reminder);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (batch != null) {
+                    batch.close();
+                }
+            }
+        };
+    }
+
+    private static VaccinationReminder toReminder(DueVaccinationView customer, List<VaccinationReminder.DueVaccination> vaccinations) {
+        return new VaccinationReminder(customer.customerId(), customer.customerName(), customer.customerEmail(),
+                customer.customerPhone(), vaccinations);
+    }
+}
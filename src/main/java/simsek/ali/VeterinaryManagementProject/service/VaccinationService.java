@@ -1,69 +1,164 @@
 package simsek.ali.VeterinaryManagementProject.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import simsek.ali.VeterinaryManagementProject.core.export.NdjsonWriter;
+import simsek.ali.VeterinaryManagementProject.core.index.NameSearchIndex;
+import simsek.ali.VeterinaryManagementProject.core.index.ProtectionTimelineIndex;
+import simsek.ali.VeterinaryManagementProject.core.index.VaccinationExpiryIndex;
+import simsek.ali.VeterinaryManagementProject.core.pagination.IdPages;
+import simsek.ali.VeterinaryManagementProject.core.pagination.KeysetCursor;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.VaccinationMapper;
 import simsek.ali.VeterinaryManagementProject.dto.request.VaccinationRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.CursorPageResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.SliceResponse;
 import simsek.ali.VeterinaryManagementProject.dto.response.VaccinationResponse;
 import simsek.ali.VeterinaryManagementProject.entity.Animal;
 import simsek.ali.VeterinaryManagementProject.entity.Report;
 import simsek.ali.VeterinaryManagementProject.entity.Vaccination;
-import simsek.ali.VeterinaryManagementProject.exception.DuplicateDataException;
 import simsek.ali.VeterinaryManagementProject.exception.EntityNotFoundException;
 import simsek.ali.VeterinaryManagementProject.exception.ProtectionStillActiveException;
 import simsek.ali.VeterinaryManagementProject.repository.AnimalRepository;
 import simsek.ali.VeterinaryManagementProject.repository.ReportRepository;
 import simsek.ali.VeterinaryManagementProject.repository.VaccinationRepository;
+import simsek.ali.VeterinaryManagementProject.repository.projection.VaccinationView;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "vetapp.service", histogram = true)
 public class VaccinationService {
 
+    private static final KeysetCursor BY_ID = KeysetCursor.byId();
+    private static final KeysetCursor BY_FINISH_DATE = KeysetCursor.by("protectionFinishDate", LocalDate::parse);
+
     private final VaccinationRepository vaccinationRepository;
     private final ReportRepository reportRepository;
     private final AnimalRepository animalRepository;
-    private final ModelMapper modelMapper;
+    private final VaccinationMapper vaccinationMapper;
+    private final ProtectionTimelineIndex protectionTimelineIndex;
+    private final VaccinationExpiryIndex vaccinationExpiryIndex;
+    private final NameSearchIndex nameSearchIndex;
+    private final ObjectMapper objectMapper;
 
 
-    public Page<VaccinationResponse> findAllVaccinations(int pageNumber, int pageSize) {
+    public Slice<VaccinationResponse> findAllVaccinations(int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return vaccinationRepository.findAll(pageable)
-                .map(vaccination -> modelMapper.map(vaccination, VaccinationResponse.class));
+        Slice<VaccinationView> vaccinations = withTotal ? vaccinationRepository.findViewPage(pageable) : vaccinationRepository.findViewSlice(pageable);
+        return SliceResponse.of(vaccinations
+                .map(vaccinationMapper::toResponse));
     }
 
     public VaccinationResponse findVaccinationById(Long id) {
         Vaccination vaccination = vaccinationRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(id, Vaccination.class));
-        return modelMapper.map(vaccination, VaccinationResponse.class);
+        return vaccinationMapper.toResponse(vaccination);
     }
 
-    public Page<VaccinationResponse> findAnimalsByVaccinationProtectionFinishDateRange(LocalDate startDate, LocalDate endDate, int pageNumber, int pageSize) {
+    public Slice<VaccinationResponse> findAnimalsByVaccinationProtectionFinishDateRange(LocalDate startDate, LocalDate endDate, int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return vaccinationRepository.findByProtectionFinishDateBetween(startDate, endDate, pageable)
-                .map(vaccination -> modelMapper.map(vaccination, VaccinationResponse.class));
+        Slice<VaccinationView> vaccinations;
+        if (vaccinationExpiryIndex.isReady()) {
+            vaccinations = findViewsByFinishDateRange(startDate, endDate, pageable, withTotal);
+        } else {
+            vaccinations = withTotal
+                    ? vaccinationRepository.findViewPageByFinishDateRange(startDate, endDate, pageable)
+                    : vaccinationRepository.findViewSliceByFinishDateRange(startDate, endDate, pageable);
+        }
+        return SliceResponse.of(vaccinations
+                .map(vaccinationMapper::toResponse));
+    }
+
+    private Slice<VaccinationView> findViewsByFinishDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable, boolean withTotal) {
+        List<Long> ids = vaccinationExpiryIndex.ids(startDate, endDate, pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        if (hasNext) {
+            ids = ids.subList(0, pageable.getPageSize());
+        }
+
+        List<VaccinationView> content = new ArrayList<>(ids.size());
+        if (!ids.isEmpty()) {
+            Map<Long, VaccinationView> viewsById = new HashMap<>();
+            for (VaccinationView view : vaccinationRepository.findViewsByIdIn(ids)) {
+                viewsById.put(view.id(), view);
+            }
+            for (Long id : ids) {
+                VaccinationView view = viewsById.get(id);
+                if (view != null) {
+                    content.add(view);
+                }
+            }
+        }
+
+        if (withTotal) {
+            return new PageImpl<>(content, pageable, vaccinationExpiryIndex.count(startDate, endDate));
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
     }
 
-    public Page<VaccinationResponse> findVaccinationsByAnimalName(String name, int pageNumber, int pageSize) {
+    public Slice<VaccinationResponse> findVaccinationsByAnimalName(String name, int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return vaccinationRepository.findByAnimalNameContainingIgnoreCase(name, pageable)
-                .map(vaccination -> modelMapper.map(vaccination, VaccinationResponse.class));
+        long[] animalIds = nameSearchIndex.isReady() ? nameSearchIndex.animals().search(name) : null;
+        Slice<VaccinationView> vaccinations;
+        if (animalIds != null && animalIds.length == 0) {
+            vaccinations = IdPages.empty(pageable, withTotal);
+        } else if (animalIds != null && animalIds.length <= NameSearchIndex.MAX_ID_FILTER) {
+            vaccinations = withTotal
+                    ? vaccinationRepository.findViewPageByAnimalIdIn(IdPages.toList(animalIds), pageable)
+                    : vaccinationRepository.findViewSliceByAnimalIdIn(IdPages.toList(animalIds), pageable);
+        } else {
+            vaccinations = withTotal
+                    ? vaccinationRepository.findViewPageByAnimalName(name, pageable)
+                    : vaccinationRepository.findViewSliceByAnimalName(name, pageable);
+        }
+        return SliceResponse.of(vaccinations
+                .map(vaccinationMapper::toResponse));
     }
 
-    public VaccinationResponse createVaccination(VaccinationRequest vaccinationRequest) {
-        List<Vaccination> existValidVaccinationWithSameSpecsAnd =
-                vaccinationRepository.findByNameAndCodeAndAnimalIdAndProtectionFinishDateGreaterThanEqual(
-                        vaccinationRequest.getName(), vaccinationRequest.getCode(),
-                        vaccinationRequest.getAnimalWithoutCustomer().getId(),
-                        vaccinationRequest.getProtectionStartDate());
+    @Transactional(readOnly = true)
+    public void exportVaccinations(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (Stream<VaccinationView> vaccinations = vaccinationRepository.streamViews(startDate, endDate);
+             NdjsonWriter writer = new NdjsonWriter(objectMapper, out)) {
+            writer.writeAll(vaccinations.map(vaccinationMapper::toResponse));
+        }
+    }
+
+    public CursorPageResponse<VaccinationResponse> scrollAllVaccinations(String after, int limit) {
+        return BY_ID.toResponse(vaccinationRepository.findAllBy(BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(vaccinationMapper::toResponse));
+    }
+
+    public CursorPageResponse<VaccinationResponse> scrollAnimalsByVaccinationProtectionFinishDateRange(LocalDate startDate, LocalDate endDate, String after, int limit) {
+        return BY_FINISH_DATE.toResponse(vaccinationRepository.findByProtectionFinishDateBetween(startDate, endDate,
+                        BY_FINISH_DATE.position(after), BY_FINISH_DATE.limit(limit), BY_FINISH_DATE.sort())
+                .map(vaccinationMapper::toResponse));
+    }
+
+    public CursorPageResponse<VaccinationResponse> scrollVaccinationsByAnimalName(String name, String after, int limit) {
+        return BY_ID.toResponse(vaccinationRepository.findByAnimalNameContainingIgnoreCase(name, BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(vaccinationMapper::toResponse));
+    }
 
-        if (!existValidVaccinationWithSameSpecsAnd.isEmpty()) {
+    public VaccinationResponse createVaccination(VaccinationRequest vaccinationRequest) {
+        if (protectionTimelineIndex.overlaps(vaccinationRequest.getAnimalWithoutCustomer().getId(),
+                vaccinationRequest.getName(), vaccinationRequest.getCode(),
+                vaccinationRequest.getProtectionStartDate(), vaccinationRequest.getProtectionFinishDate(), null)) {
             throw new ProtectionStillActiveException("Girdiğiniz aşı koruyuculuk tarihlerinde zaten devam eden bir koruyucuk var. Lütfen koruyuculuk tarihini değiştirin.");
         }
 
@@ -83,7 +178,7 @@ public class VaccinationService {
             newVaccination.setReport(report);
         }
 
-        return modelMapper.map(vaccinationRepository.save(newVaccination), VaccinationResponse.class);
+        return vaccinationMapper.toResponse(vaccinationRepository.save(newVaccination));
     }
 
     @Transactional
@@ -91,37 +186,22 @@ public class VaccinationService {
         Vaccination vaccination = vaccinationRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(id, Vaccination.class));
 
-        boolean animalChanged = false;
-        if (vaccinationRequest.getAnimalWithoutCustomer() != null) {
+        LocalDate previousFinishDate = vaccination.getProtectionFinishDate();
+        Long previousAnimalId = vaccination.getAnimal().getId();
+        if (vaccinationRequest.getAnimalWithoutCustomer() != null
+                && !previousAnimalId.equals(vaccinationRequest.getAnimalWithoutCustomer().getId())) {
             Animal newAnimal = animalRepository.findById(vaccinationRequest.getAnimalWithoutCustomer().getId())
                     .orElseThrow(() -> new EntityNotFoundException(vaccinationRequest.getAnimalWithoutCustomer().getId(), Animal.class));
-            if (!vaccination.getAnimal().getId().equals(newAnimal.getId())) {
-                animalChanged = true;
-                vaccination.setAnimal(newAnimal);
-            }
+            vaccination.setAnimal(newAnimal);
         }
 
-        boolean protectionDatesChanged = !vaccination.getProtectionStartDate().equals(vaccinationRequest.getProtectionStartDate()) ||
-                !vaccination.getProtectionFinishDate().equals(vaccinationRequest.getProtectionFinishDate());
-
-        if (protectionDatesChanged || animalChanged) {
-            List<Vaccination> existOtherValidVaccinationFromRequest =
-                    vaccinationRepository.findByNameAndCodeAndAnimalIdAndProtectionFinishDateGreaterThanEqual(
-                            vaccinationRequest.getName(), vaccinationRequest.getCode(),
-                            vaccinationRequest.getAnimalWithoutCustomer().getId(),
-                            vaccinationRequest.getProtectionStartDate());
-
-            if (!existOtherValidVaccinationFromRequest.isEmpty() &&
-                    !existOtherValidVaccinationFromRequest.get(existOtherValidVaccinationFromRequest.size() - 1).getId().equals(id)) {
-                throw new DuplicateDataException(Vaccination.class);
-            }
-
-            if (!existOtherValidVaccinationFromRequest.isEmpty()) {
-                throw new ProtectionStillActiveException("Girdiğiniz aşı koruyuculuk tarihlerinde zaten devam eden bir koruyuculuk var. Lütfen koruyuculuk tarihini değiştirin.");
-            }
+        // Aşının kendi eski dönemi hariç tutulur; yalnızca gerçekten kesişen başka bir aşı varsa reddedilir.
+        if (protectionTimelineIndex.overlaps(vaccination.getAnimal().getId(),
+                vaccinationRequest.getName(), vaccinationRequest.getCode(),
+                vaccinationRequest.getProtectionStartDate(), vaccinationRequest.getProtectionFinishDate(), id)) {
+            throw new ProtectionStillActiveException("Girdiğiniz aşı koruyuculuk tarihlerinde zaten devam eden bir koruyuculuk var. Lütfen koruyuculuk tarihini değiştirin.");
         }
 
-
         if (vaccinationRequest.getReportId() != null) {
             Report report = reportRepository.findById(vaccinationRequest.getReportId())
                     .orElseThrow(() -> new EntityNotFoundException(vaccinationRequest.getReportId(), Report.class));
@@ -135,7 +215,11 @@ public class VaccinationService {
         vaccination.setProtectionStartDate(vaccinationRequest.getProtectionStartDate());
         vaccination.setProtectionFinishDate(vaccinationRequest.getProtectionFinishDate());
 
-        return modelMapper.map(vaccinationRepository.save(vaccination), VaccinationResponse.class);
+        Vaccination updatedVaccination = vaccinationRepository.save(vaccination);
+        protectionTimelineIndex.evict(previousAnimalId);
+        protectionTimelineIndex.evict(updatedVaccination.getAnimal().getId());
+        vaccinationExpiryIndex.move(id, previousFinishDate, updatedVaccination.getProtectionFinishDate());
+        return vaccinationMapper.toResponse(updatedVaccination);
     }
 
 
@@ -1,12 +1,17 @@
 package simsek.ali.VeterinaryManagementProject.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import simsek.ali.VeterinaryManagementProject.core.index.SlotOccupancyIndex;
+import simsek.ali.VeterinaryManagementProject.core.pagination.KeysetCursor;
+import simsek.ali.VeterinaryManagementProject.dto.mapper.WorkDayMapper;
 import simsek.ali.VeterinaryManagementProject.dto.request.WorkDayRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.CursorPageResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.SliceResponse;
 import simsek.ali.VeterinaryManagementProject.dto.response.WorkDayResponse;
 import simsek.ali.VeterinaryManagementProject.entity.Doctor;
 import simsek.ali.VeterinaryManagementProject.entity.WorkDay;
@@ -19,22 +24,31 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "vetapp.service", histogram = true)
 public class WorkDayService {
 
+    private static final KeysetCursor BY_ID = KeysetCursor.byId();
+
     private final WorkDayRepository workDayRepository;
-    private final ModelMapper modelMapper;
+    private final WorkDayMapper workDayMapper;
     private final DoctorService doctorService;
+    private final SlotOccupancyIndex slotOccupancyIndex;
 
-    public Page<WorkDayResponse> findAllWorkDays(int pageNumber, int pageSize) {
+    public Slice<WorkDayResponse> findAllWorkDays(int pageNumber, int pageSize, boolean withTotal) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
         // TODO LİSTE BOŞSA BULUNAMADI HATASI FIRLAT
-        return workDayRepository.findAll(pageable).map(workDay -> modelMapper.map(workDay, WorkDayResponse.class));
+        Slice<WorkDay> workDays = withTotal ? workDayRepository.findAll(pageable) : workDayRepository.findSliceBy(pageable);
+        return SliceResponse.of(workDays.map(workDayMapper::toResponse));
+    }
+
+    public CursorPageResponse<WorkDayResponse> scrollAllWorkDays(String after, int limit) {
+        return BY_ID.toResponse(workDayRepository.findAllBy(BY_ID.position(after), BY_ID.limit(limit), BY_ID.sort())
+                .map(workDayMapper::toResponse));
     }
 
     public WorkDayResponse findWorkDayById(Long id) {
-        return modelMapper.map(
-                workDayRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id, WorkDay.class)),
-                WorkDayResponse.class);
+        return workDayMapper.toResponse(
+                workDayRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(id, WorkDay.class)));
     }
 
     public WorkDayResponse createWorkDay(WorkDayRequest workDayRequest) {
@@ -47,10 +61,11 @@ public class WorkDayService {
             throw new EntityAlreadyExistException(WorkDay.class);
         }
 
-        workDayRequest.setDoctorId(null);
-        WorkDay newWorkDay = modelMapper.map(workDayRequest, WorkDay.class);
+        WorkDay newWorkDay = workDayMapper.toEntity(workDayRequest);
         newWorkDay.setDoctor(doctorFromDb);
-        return modelMapper.map(workDayRepository.save(newWorkDay), WorkDayResponse.class);
+        WorkDay savedWorkDay = workDayRepository.save(newWorkDay);
+        slotOccupancyIndex.setWorkDay(doctorFromDb.getId(), savedWorkDay.getWorkDay(), true);
+        return workDayMapper.toResponse(savedWorkDay);
     }
 
     public WorkDayResponse updateWorkDay(Long id, WorkDayRequest workDayRequest) {
@@ -65,13 +80,17 @@ public class WorkDayService {
         }
 
         Doctor newDoctor = doctorService.findDoctor(workDayRequest.getDoctorId());
+        Long oldDoctorId = workDayFromDb.getDoctor().getId();
+        LocalDate oldWorkDay = workDayFromDb.getWorkDay();
         workDayFromDb.setDoctor(newDoctor);
 
         workDayFromDb.setWorkDay(workDayRequest.getWorkDay());
 
         WorkDay savedWorkDay = workDayRepository.save(workDayFromDb);
+        slotOccupancyIndex.setWorkDay(oldDoctorId, oldWorkDay, false);
+        slotOccupancyIndex.setWorkDay(newDoctor.getId(), savedWorkDay.getWorkDay(), true);
 
-        return modelMapper.map(savedWorkDay, WorkDayResponse.class);
+        return workDayMapper.toResponse(savedWorkDay);
     }
 
 
@@ -81,12 +100,10 @@ public class WorkDayService {
         if (workDayFromDb.isEmpty()) {
             throw new EntityNotFoundException(id, WorkDay.class);
         } else {
-            workDayRepository.delete(workDayFromDb.get());
+            WorkDay workDay = workDayFromDb.get();
+            workDayRepository.delete(workDay);
+            slotOccupancyIndex.setWorkDay(workDay.getDoctor().getId(), workDay.getWorkDay(), false);
             return "Work day deleted.";
         }
     }
-
-    public Optional<WorkDay> findByDoctorIdAndDate(Long id, LocalDate workDay) {
-        return workDayRepository.findByWorkDayAndDoctor_Id(workDay, id);
-    }
 }
@@ -0,0 +1,248 @@
+package simsek.ali.VeterinaryManagementProject.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * İstek başına çalışan SQL ifadesi sayısının bütçeyi aşmadığını doğrular; N+1 geri gelirse test düşer.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlcount;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SqlStatementCountTest {
+
+    private static final int CUSTOMERS = 5;
+    private static final int DOCTORS = 5;
+    private static final int ANIMALS = 20;
+    private static final int APPOINTMENTS_PER_DOCTOR = 8;
+    private static final int REPORTS = 30;
+    private static final int VACCINATIONS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private record Call(HttpMethod method, String url, MediaType contentType, String body, long maxStatements) {
+
+        static Call get(String url, long maxStatements) {
+            return new Call(HttpMethod.GET, url, null, null, maxStatements);
+        }
+
+        static Call post(String url, String body, long maxStatements) {
+            return new Call(HttpMethod.POST, url, MediaType.APPLICATION_JSON, body, maxStatements);
+        }
+
+        static Call put(String url, String body, long maxStatements) {
+            return new Call(HttpMethod.PUT, url, MediaType.APPLICATION_JSON, body, maxStatements);
+        }
+
+        static Call delete(String url, long maxStatements) {
+            return new Call(HttpMethod.DELETE, url, null, null, maxStatements);
+        }
+
+        static Call csv(String url, String body, long maxStatements) {
+            return new Call(HttpMethod.POST, url, MediaType.valueOf("text/csv"), body, maxStatements);
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + url;
+        }
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int c = 1; c <= CUSTOMERS; c++) {
+            send(Call.post("/api/v1/customers", "{\"name\":\"Customer" + c + "\",\"email\":\"c" + c + "@vet.app\",\"phone\":\"" + c + "\"}", Long.MAX_VALUE));
+        }
+        for (int d = 1; d <= DOCTORS; d++) {
+            send(Call.post("/api/v1/doctors", "{\"name\":\"Doctor" + d + "\",\"email\":\"d" + d + "@vet.app\"}", Long.MAX_VALUE));
+            send(Call.post("/api/v1/available-dates", "{\"workDay\":\"2030-01-01\",\"doctorId\":" + d + "}", Long.MAX_VALUE));
+        }
+        for (int a = 1; a <= ANIMALS; a++) {
+            send(Call.post("/api/v1/animals", "{\"name\":\"Animal" + a + "\",\"species\":\"dog\",\"customer\":{\"id\":" + (a % CUSTOMERS + 1) + "}}", Long.MAX_VALUE));
+        }
+        int appointment = 0;
+        for (int d = 1; d <= DOCTORS; d++) {
+            for (int h = 9; h < 9 + APPOINTMENTS_PER_DOCTOR; h++) {
+                appointment++;
+                send(Call.post("/api/v1/appointments", "{\"appointmentDate\":\"2030-01-01T" + String.format("%02d", h) + ":00:00\",\"doctor\":{\"id\":" + d
+                        + "},\"animal\":{\"id\":" + (appointment % ANIMALS + 1) + "}}", Long.MAX_VALUE));
+            }
+        }
+        for (int r = 1; r <= REPORTS; r++) {
+            send(Call.post("/api/v1/reports", "{\"title\":\"Report" + r + "\",\"diagnosis\":\"ok\",\"price\":10,\"appointmentId\":" + r + "}", Long.MAX_VALUE));
+        }
+        for (int v = 1; v <= VACCINATIONS; v++) {
+            send(Call.post("/api/v1/vaccinations", "{\"name\":\"Vaccine" + v + "\",\"code\":\"V" + v + "\",\"protectionStartDate\":\"2030-01-01\",\"protectionFinishDate\":\"2030-06-01\","
+                    + "\"animalWithoutCustomer\":{\"id\":" + (v % ANIMALS + 1) + "},\"reportId\":" + (v % REPORTS + 1) + "}", Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    @Order(1)
+    void readEndpointsStayWithinStatementBudget() throws Exception {
+        assertBudgets(List.of(
+                Call.get("/api/v1/customers?pageSize=50", 1),
+                Call.get("/api/v1/customers?pageSize=50&withTotal=false", 1),
+                Call.get("/api/v1/customers?limit=50", 1),
+                Call.get("/api/v1/customers/1", 1),
+                Call.get("/api/v1/customers/1/overview", 5),
+                Call.get("/api/v1/customers/searchByName?name=customer&pageSize=50", 1),
+                Call.get("/api/v1/customers/searchByName?name=customer&limit=50", 1),
+
+                Call.get("/api/v1/doctors?pageSize=50", 1),
+                Call.get("/api/v1/doctors?pageSize=50&withTotal=false", 1),
+                Call.get("/api/v1/doctors?limit=50", 1),
+                Call.get("/api/v1/doctors/1", 1),
+                Call.get("/api/v1/doctors/searchByName?name=doctor&pageSize=50", 1),
+                Call.get("/api/v1/doctors/searchByName?name=doctor&limit=50", 1),
+
+                Call.get("/api/v1/available-dates?pageSize=50", 1),
+                Call.get("/api/v1/available-dates?pageSize=50&withTotal=false", 1),
+                Call.get("/api/v1/available-dates?limit=50", 1),
+                Call.get("/api/v1/available-dates/1", 1),
+
+                Call.get("/api/v1/animals?pageSize=50", 1),
+                Call.get("/api/v1/animals?pageSize=50&withTotal=false", 1),
+                Call.get("/api/v1/animals?limit=50", 1),
+                Call.get("/api/v1/animals/1", 1),
+                Call.get("/api/v1/animals/searchByName?name=animal&pageSize=50", 1),
+                Call.get("/api/v1/animals/searchByName?name=animal&limit=50", 1),
+                Call.get("/api/v1/animals/searchByCustomer?customerName=customer&pageSize=50", 1),
+                Call.get("/api/v1/animals/searchByCustomer?customerName=customer&limit=50", 1),
+
+                Call.get("/api/v1/appointments?pageSize=50", 1),
+                Call.get("/api/v1/appointments?pageSize=50&withTotal=false", 1),
+                Call.get("/api/v1/appointments?limit=50", 1),
+                Call.get("/api/v1/appointments/1", 1),
+                Call.get("/api/v1/appointments/searchByDoctorAndDateRange?startDate=2030-01-01&endDate=2030-01-02&pageSize=50", 1),
+                Call.get("/api/v1/appointments/searchByDoctorAndDateRange?id=1&startDate=2030-01-01&endDate=2030-01-02&pageSize=50", 1),
+                Call.get("/api/v1/appointments/searchByDoctorAndDateRange?id=1&startDate=2030-01-01&endDate=2030-01-02&limit=50", 1),
+                Call.get("/api/v1/appointments/searchByAnimalAndDateRange?id=2&startDate=2030-01-01&endDate=2030-01-02&pageSize=50", 1),
+                Call.get("/api/v1/appointments/searchByAnimalAndDateRange?id=2&startDate=2030-01-01&endDate=2030-01-02&limit=50", 1),
+                Call.get("/api/v1/appointments/nextAvailable?from=2030-01-01&to=2030-01-07&limit=20", 2),
+                Call.get("/api/v1/appointments/nextAvailable?from=2030-01-01&to=2030-01-07&doctorId=1", 2),
+                Call.get("/api/v1/appointments/export", 1),
+
+                Call.get("/api/v1/reports?pageSize=50", 2),
+                Call.get("/api/v1/reports?pageSize=50&withTotal=false", 2),
+                Call.get("/api/v1/reports?limit=50", 2),
+                Call.get("/api/v1/reports/1", 2),
+                Call.get("/api/v1/reports/export", 2),
+                Call.get("/api/v1/reports/search?q=ok&pageSize=50", 2),
+                Call.get("/api/v1/reports/search?q=report1+OR+report2&doctorId=1&startDate=2030-01-01&endDate=2030-01-01", 2),
+
+                Call.get("/api/v1/vaccinations?pageSize=50", 1),
+                Call.get("/api/v1/vaccinations?pageSize=50&withTotal=false", 1),
+                Call.get("/api/v1/vaccinations?limit=50", 1),
+                Call.get("/api/v1/vaccinations/1", 2),
+                Call.get("/api/v1/vaccinations/searchByName?name=animal&pageSize=50", 1),
+                Call.get("/api/v1/vaccinations/searchByName?name=animal&limit=50", 1),
+                Call.get("/api/v1/vaccinations/searchByVaccinationRange?startDate=2030-01-01&endDate=2031-01-01&pageSize=50", 1),
+                Call.get("/api/v1/vaccinations/searchByVaccinationRange?startDate=2030-01-01&endDate=2031-01-01&limit=50", 1),
+                Call.get("/api/v1/vaccinations/export", 1)
+        ));
+    }
+
+    @Test
+    @Order(2)
+    void writeEndpointsStayWithinStatementBudget() throws Exception {
+        assertBudgets(List.of(
+                Call.post("/api/v1/customers", "{\"name\":\"New customer\",\"email\":\"new@vet.app\"}", 2),
+                Call.put("/api/v1/customers/6", "{\"name\":\"New customer\",\"email\":\"new2@vet.app\"}", 3),
+                Call.csv("/api/v1/customers/import", "name,email\nImported1,i1@vet.app\nImported2,i2@vet.app\n", 3),
+
+                Call.post("/api/v1/doctors", "{\"name\":\"New doctor\",\"email\":\"newdoc@vet.app\"}", 2),
+                Call.put("/api/v1/doctors/6", "{\"name\":\"New doctor\",\"email\":\"newdoc2@vet.app\"}", 3),
+
+                Call.post("/api/v1/available-dates", "{\"workDay\":\"2030-02-01\",\"doctorId\":6}", 3),
+                Call.put("/api/v1/available-dates/6", "{\"workDay\":\"2030-02-02\",\"doctorId\":6}", 3),
+
+                Call.post("/api/v1/animals", "{\"name\":\"New animal\",\"species\":\"cat\",\"customer\":{\"id\":6}}", 3),
+                Call.put("/api/v1/animals/21", "{\"name\":\"New animal\",\"species\":\"cat\",\"gender\":\"f\",\"customer\":{\"id\":6}}", 3),
+                Call.csv("/api/v1/animals/import", "name,species,customerId\nImportedA,cat,6\nImportedB,cat,6\n", 4),
+
+                Call.post("/api/v1/appointments", "{\"appointmentDate\":\"2030-02-02T10:00:00\",\"doctor\":{\"id\":6},\"animal\":{\"id\":21}}", 3),
+                Call.put("/api/v1/appointments/41", "{\"appointmentDate\":\"2030-02-02T11:00:00\",\"doctor\":{\"id\":6},\"animal\":{\"id\":21}}", 2),
+                Call.post("/api/v1/appointments/schedule", "[{\"animalId\":21,\"doctorId\":6,\"earliest\":\"2030-02-02T09:00:00\",\"latest\":\"2030-02-02T16:30:00\"},"
+                        + "{\"animalId\":22,\"earliest\":\"2030-02-02T09:00:00\",\"latest\":\"2030-02-02T16:30:00\"}]", 5),
+
+                Call.post("/api/v1/reports", "{\"title\":\"New report\",\"diagnosis\":\"ok\",\"price\":5,\"appointmentId\":41}", 3),
+                Call.put("/api/v1/reports/31", "{\"title\":\"New report\",\"diagnosis\":\"fine\",\"price\":6,\"appointmentId\":41}", 4),
+
+                Call.post("/api/v1/vaccinations", "{\"name\":\"New vaccine\",\"code\":\"NV\",\"protectionStartDate\":\"2030-02-02\",\"protectionFinishDate\":\"2030-08-02\","
+                        + "\"animalWithoutCustomer\":{\"id\":21},\"reportId\":31}", 4),
+                Call.put("/api/v1/vaccinations/41", "{\"name\":\"Renamed vaccine\",\"code\":\"NV\",\"protectionStartDate\":\"2030-02-02\",\"protectionFinishDate\":\"2030-08-02\","
+                        + "\"animalWithoutCustomer\":{\"id\":21},\"reportId\":31}", 3),
+
+                Call.delete("/api/v1/vaccinations/41", 2),
+                Call.delete("/api/v1/reports/31", 3),
+                Call.delete("/api/v1/appointments/41", 2),
+                Call.delete("/api/v1/appointments/42", 2),
+                Call.delete("/api/v1/appointments/43", 2),
+                Call.delete("/api/v1/available-dates/6", 2),
+                Call.delete("/api/v1/animals/21", 3),
+                Call.delete("/api/v1/customers/6", 7),
+                Call.delete("/api/v1/doctors/6", 3)
+        ));
+    }
+
+    private void assertBudgets(List<Call> calls) throws Exception {
+        List<Executable> checks = new ArrayList<>();
+        for (Call call : calls) {
+            statistics.clear();
+            int status = send(call);
+            long executed = statistics.getPrepareStatementCount();
+            checks.add(() -> assertTrue(status < 400, call + " -> HTTP " + status));
+            checks.add(() -> assertTrue(executed <= call.maxStatements(),
+                    call + " ran " + executed + " SQL statements, budget is " + call.maxStatements()));
+        }
+        assertAll(checks);
+    }
+
+    private int send(Call call) throws Exception {
+        MockHttpServletRequestBuilder builder = request(call.method(), call.url());
+        if (call.body() != null) {
+            builder.contentType(call.contentType()).content(call.body());
+        }
+        MvcResult result = mockMvc.perform(builder).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse().getStatus();
+    }
+}
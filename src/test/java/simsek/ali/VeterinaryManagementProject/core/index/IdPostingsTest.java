@@ -0,0 +1,68 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdPostingsTest {
+
+    @Test
+    void keepsIdsSortedAndUnique() {
+        IdPostings postings = postings(5, 1, 9, 3, 5, 7, 1, 2);
+
+        assertArrayEquals(new long[]{1, 2, 3, 5, 7, 9}, postings.toArray());
+        assertEquals(6, postings.size);
+    }
+
+    @Test
+    void removeReportsWhetherTheIdWasPresent() {
+        IdPostings postings = postings(1, 2, 3);
+
+        assertTrue(postings.remove(2));
+        assertFalse(postings.remove(2));
+        assertFalse(postings.remove(4));
+        assertArrayEquals(new long[]{1, 3}, postings.toArray());
+    }
+
+    @Test
+    void retainInKeepsTheIntersectionAtTheFront() {
+        IdPostings postings = postings(2, 4, 6, 8, 10);
+        long[] candidates = {1, 2, 3, 4, 8, 11};
+
+        int count = postings.retainIn(candidates, candidates.length);
+
+        assertEquals(3, count);
+        assertEquals(2, candidates[0]);
+        assertEquals(4, candidates[1]);
+        assertEquals(8, candidates[2]);
+    }
+
+    @Test
+    void retainInOnlyLooksAtTheFirstCountCandidates() {
+        IdPostings postings = postings(1, 2, 3, 4);
+        long[] candidates = {1, 3, 4, 2};
+
+        assertEquals(1, postings.retainIn(candidates, 1));
+        assertEquals(1, candidates[0]);
+        assertEquals(0, postings.retainIn(candidates, 0));
+    }
+
+    @Test
+    void retainInWithDisjointOrEmptyListsKeepsNothing() {
+        long[] candidates = {1, 3, 5};
+        assertEquals(0, postings(2, 4, 6).retainIn(candidates, candidates.length));
+        assertEquals(0, new IdPostings().retainIn(candidates, candidates.length));
+        assertEquals(0, postings(10, 20).retainIn(new long[]{30, 40}, 2));
+    }
+
+    private static IdPostings postings(long... ids) {
+        IdPostings postings = new IdPostings();
+        for (long id : ids) {
+            postings.add(id);
+        }
+        return postings;
+    }
+}
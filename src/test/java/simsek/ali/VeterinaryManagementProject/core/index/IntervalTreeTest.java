@@ -0,0 +1,126 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(10, 20, 1);
+
+        assertFalse(tree.overlaps(20, 30));
+        assertFalse(tree.overlaps(0, 10));
+        assertTrue(tree.overlaps(19, 30));
+        assertTrue(tree.overlaps(0, 11));
+        assertTrue(tree.overlaps(12, 15));
+        assertTrue(tree.overlaps(0, 100));
+    }
+
+    @Test
+    void overlapsFindsIntervalsOnTheRightOfALongLeftSubtree() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(0, 5, 1);
+        tree.add(10, 12, 2);
+        tree.add(20, 30, 3);
+        tree.add(1, 2, 4);
+
+        assertTrue(tree.overlaps(25, 26));
+        assertFalse(tree.overlaps(12, 20));
+        assertFalse(tree.overlaps(30, 40));
+    }
+
+    @Test
+    void duplicatesAreCountedAndRemovedOneByOne() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(1, 5, 7);
+        tree.add(1, 5, 7);
+        assertEquals(2, tree.size());
+
+        assertTrue(tree.remove(1, 5, 7));
+        assertEquals(1, tree.size());
+        assertTrue(tree.overlaps(2, 3));
+        assertTrue(tree.contains(1, 7));
+
+        assertTrue(tree.remove(1, 5, 7));
+        assertEquals(0, tree.size());
+        assertFalse(tree.overlaps(2, 3));
+        assertFalse(tree.contains(1, 7));
+        assertFalse(tree.remove(1, 5, 7));
+    }
+
+    @Test
+    void removeNeedsTheExactInterval() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(1, 5, 7);
+
+        assertFalse(tree.remove(1, 6, 7));
+        assertFalse(tree.remove(1, 5, 8));
+        assertFalse(tree.remove(2, 5, 7));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void containsMatchesStartAndTagOnly() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(3, 9, 1);
+        tree.add(3, 4, 2);
+
+        assertTrue(tree.contains(3, 1));
+        assertTrue(tree.contains(3, 2));
+        assertFalse(tree.contains(3, 3));
+        assertFalse(tree.contains(4, 1));
+    }
+
+    @Test
+    void staysBalancedAfterDeletes() {
+        IntervalTree tree = new IntervalTree();
+        for (int i = 0; i < 1024; i++) {
+            tree.add(i, i + 1, i);
+        }
+        assertTrue(tree.height() <= 11 * 1.45, "height " + tree.height());
+
+        // Soldan silmek ağacı sağa yatırır; dönüşler yüksekliği logaritmik tutmalı
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(tree.remove(i, i + 1, i));
+        }
+        assertEquals(24, tree.size());
+        assertTrue(tree.height() <= 5 * 1.45, "height " + tree.height());
+        assertFalse(tree.overlaps(0, 1000));
+        assertTrue(tree.overlaps(1000, 1001));
+        assertTrue(tree.overlaps(1023, 2000));
+    }
+
+    @Test
+    void agreesWithALinearScanUnderRandomWrites() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            if (intervals.isEmpty() || random.nextInt(3) > 0) {
+                long start = random.nextInt(500);
+                long[] interval = {start, start + 1 + random.nextInt(20), random.nextInt(50)};
+                tree.add(interval[0], interval[1], interval[2]);
+                intervals.add(interval);
+            } else {
+                long[] interval = intervals.remove(random.nextInt(intervals.size()));
+                assertTrue(tree.remove(interval[0], interval[1], interval[2]));
+            }
+
+            long start = random.nextInt(520);
+            long end = start + 1 + random.nextInt(10);
+            boolean expected = intervals.stream().anyMatch(interval -> interval[0] < end && start < interval[1]);
+            assertEquals(expected, tree.overlaps(start, end), "[" + start + ", " + end + ")");
+        }
+        assertEquals(intervals.size(), tree.size());
+    }
+}
@@ -0,0 +1,61 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NameSearchIndexTest {
+
+    @Test
+    void rebuildReplaysWritesThatArriveDuringTheScan() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        NameSearchIndex index = new NameSearchIndex(jdbcTemplate);
+        index.put(NameSearchIndex.ANIMAL, 1, "Pamuk");
+        index.put(NameSearchIndex.ANIMAL, 2, "Karabaş");
+        AtomicInteger scans = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            // Tablolar animal, customer, doctor sırasıyla taranır
+            if (scans.getAndIncrement() > 0) {
+                return null;
+            }
+            // Tarama 1 ve 2'yi görürken 2 silinir, 1'in adı değişir, 3 eklenir
+            index.remove(NameSearchIndex.ANIMAL, 2);
+            index.put(NameSearchIndex.ANIMAL, 1, "Boncuk");
+            index.put(NameSearchIndex.ANIMAL, 3, "Tarçın");
+            handler.processRow(row(1, "Pamuk"));
+            handler.processRow(row(2, "Karabaş"));
+            assertArrayEquals(new long[]{1, 3}, index.animals().search(""));
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        assertFalse(index.isReady());
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertArrayEquals(new long[]{1, 3}, index.animals().search(""));
+        assertArrayEquals(new long[]{1}, index.animals().search("boncuk"));
+        assertArrayEquals(new long[0], index.animals().search("pamuk"));
+        assertArrayEquals(new long[0], index.animals().search("karabaş"));
+    }
+
+    private static ResultSet row(long id, String name) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(id);
+        when(rs.getString(2)).thenReturn(name);
+        return rs;
+    }
+}
@@ -0,0 +1,150 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import simsek.ali.VeterinaryManagementProject.repository.VaccinationRepository;
+import simsek.ali.VeterinaryManagementProject.repository.projection.VaccinationProtectionView;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProtectionTimelineIndexTest {
+
+    private static final long ANIMAL = 7L;
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    private VaccinationRepository vaccinationRepository;
+    private ProtectionTimelineIndex index;
+
+    @BeforeEach
+    void setUp() {
+        vaccinationRepository = mock(VaccinationRepository.class);
+        when(vaccinationRepository.findProtectionsByAnimalId(ANIMAL)).thenReturn(List.of(
+                view(1L, "Kuduz", "KDZ", DAY, DAY.plusDays(30)),
+                view(2L, "Karma", "KRM", DAY.plusDays(100), null)));
+        index = new ProtectionTimelineIndex(vaccinationRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void periodsAreClosedOnBothDays() {
+        assertTrue(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.plusDays(30), DAY.plusDays(60), null));
+        assertTrue(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.minusDays(10), DAY, null));
+        assertFalse(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.plusDays(31), DAY.plusDays(60), null));
+        assertFalse(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.minusDays(10), DAY.minusDays(1), null));
+    }
+
+    @Test
+    void onlyTheSameNameAndCodeConflict() {
+        assertFalse(index.overlaps(ANIMAL, "Kuduz", "KRM", DAY, DAY.plusDays(5), null));
+        assertFalse(index.overlaps(ANIMAL, "Karma", "KDZ", DAY, DAY.plusDays(5), null));
+        assertFalse(index.overlaps(8L, "Kuduz", "KDZ", DAY, DAY.plusDays(5), null));
+    }
+
+    @Test
+    void missingDatesAreOpenEnded() {
+        assertTrue(index.overlaps(ANIMAL, "Karma", "KRM", DAY.plusDays(5000), DAY.plusDays(5001), null));
+        assertFalse(index.overlaps(ANIMAL, "Karma", "KRM", DAY, DAY.plusDays(99), null));
+        assertTrue(index.overlaps(ANIMAL, "Kuduz", "KDZ", null, DAY, null));
+    }
+
+    @Test
+    void excludedVaccinationDoesNotConflictWithItself() {
+        assertFalse(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.plusDays(10), DAY.plusDays(40), 1L));
+        // Hariç tutma yalnızca o sorgu içindir
+        assertTrue(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.plusDays(10), DAY.plusDays(40), null));
+        assertTrue(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.plusDays(10), DAY.plusDays(40), 2L));
+    }
+
+    @Test
+    void addAndRemoveUpdateALoadedTimeline() {
+        index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY, DAY, null);
+
+        index.add(ANIMAL, 3L, "Kuduz", "KDZ", DAY.plusDays(200), DAY.plusDays(230));
+        assertTrue(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.plusDays(230), DAY.plusDays(231), null));
+
+        index.remove(ANIMAL, 1L);
+        assertFalse(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY, DAY.plusDays(30), null));
+        verify(vaccinationRepository, times(1)).findProtectionsByAnimalId(ANIMAL);
+    }
+
+    @Test
+    void writesToAnUnloadedAnimalAreLeftToTheNextLoad() {
+        index.add(ANIMAL, 3L, "Kuduz", "KDZ", DAY.plusDays(200), DAY.plusDays(230));
+        index.remove(ANIMAL, 1L);
+
+        // Yükleme veritabanından yapılır; yukarıdaki yazmalar henüz orada değil
+        assertTrue(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY, DAY.plusDays(30), null));
+        assertFalse(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.plusDays(200), DAY.plusDays(230), null));
+    }
+
+    @Test
+    void evictReloadsFromTheRepository() {
+        index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY, DAY, null);
+        index.remove(ANIMAL, 1L);
+        assertFalse(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY, DAY, null));
+
+        index.evict(ANIMAL);
+        assertTrue(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY, DAY, null));
+        verify(vaccinationRepository, times(2)).findProtectionsByAnimalId(ANIMAL);
+    }
+
+    @Test
+    void aWriteArrivingDuringTheLoadIsAppliedAfterIt() throws Exception {
+        Thread[] writer = new Thread[1];
+        doAnswer(invocation -> {
+            // Yükleme sorgusu okunduktan sonra commit edilen aşının afterCommit'i
+            writer[0] = new Thread(() -> index.add(ANIMAL, 3L, "Kuduz", "KDZ", DAY.plusDays(200), DAY.plusDays(230)));
+            writer[0].start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (writer[0].getState() != Thread.State.BLOCKED && writer[0].isAlive() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return List.of(view(1L, "Kuduz", "KDZ", DAY, DAY.plusDays(30)));
+        }).when(vaccinationRepository).findProtectionsByAnimalId(ANIMAL);
+
+        index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY, DAY, null);
+        writer[0].join();
+
+        assertTrue(index.overlaps(ANIMAL, "Kuduz", "KDZ", DAY.plusDays(210), DAY.plusDays(211), null));
+        verify(vaccinationRepository, times(1)).findProtectionsByAnimalId(ANIMAL);
+    }
+
+    private static VaccinationProtectionView view(Long id, String name, String code, LocalDate start, LocalDate finish) {
+        return new VaccinationProtectionView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getCode() {
+                return code;
+            }
+
+            @Override
+            public LocalDate getProtectionStartDate() {
+                return start;
+            }
+
+            @Override
+            public LocalDate getProtectionFinishDate() {
+                return finish;
+            }
+        };
+    }
+}
@@ -0,0 +1,163 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 10);
+
+    private ReportSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReportSearchIndex(null);
+        index.put(1L, "Kuduz aşısı", "Rutin kontrol", 11L, DAY.atTime(9, 0), 100L);
+        index.put(2L, "Genel muayene", "Kuduz şüphesi yok, kilo kontrol", 12L, DAY.plusDays(1).atTime(17, 30), 200L);
+        index.put(3L, "Kırık pati", "Röntgen çekildi", 13L, DAY.plusDays(2).atTime(10, 0), 100L);
+        index.put(4L, "Kontrol", "Dikiş alındı", null, null, null);
+    }
+
+    @Test
+    void parseSplitsOrGroupsAndTokenizesTerms() {
+        assertEquals(List.of(List.of("kuduz", "kontrol")), ReportSearchIndex.parse("Kuduz kontrol"));
+        assertEquals(List.of(List.of("kuduz"), List.of("kırık", "pati")), ReportSearchIndex.parse("kuduz OR Kırık pati"));
+        assertEquals(List.of(List.of("a"), List.of("b")), ReportSearchIndex.parse("a | b"));
+        assertEquals(List.of(List.of("a", "b")), ReportSearchIndex.parse("a AND b"));
+        assertEquals(List.of(List.of("kilo", "kontrol")), ReportSearchIndex.parse("kilo,kontrol"));
+    }
+
+    @Test
+    void parseIgnoresEmptyGroups() {
+        assertTrue(ReportSearchIndex.parse(null).isEmpty());
+        assertTrue(ReportSearchIndex.parse("   ").isEmpty());
+        assertTrue(ReportSearchIndex.parse("OR | AND").isEmpty());
+        assertEquals(List.of(List.of("a")), ReportSearchIndex.parse("OR a OR"));
+        // Küçük harfle yazılan or bir terimdir
+        assertEquals(List.of(List.of("a", "or", "b")), ReportSearchIndex.parse("a or b"));
+    }
+
+    @Test
+    void turkishLettersDoNotSplitTermsAndMatchWithoutAccents() {
+        assertEquals(List.of(List.of("i\u0307shal")), ReportSearchIndex.parse("İshal"));
+        index.put(5L, "İSHAL", "Şiddetli kusma", null, null, null);
+
+        assertArrayEquals(new long[]{5}, index.search("ishal", null, null, null));
+        assertArrayEquals(new long[]{5}, index.search("İshal siddetli", null, null, null));
+        assertArrayEquals(new long[0], index.search("shal", null, null, null));
+    }
+
+    @Test
+    void termsInAGroupMustAllMatch() {
+        assertArrayEquals(new long[]{2}, index.search("kuduz kilo", null, null, null));
+        assertArrayEquals(new long[0], index.search("kuduz röntgen", null, null, null));
+        assertArrayEquals(new long[0], index.search("", null, null, null));
+    }
+
+    @Test
+    void groupsAreUnited() {
+        assertArrayEquals(new long[]{1, 2, 3}, sorted(index.search("kuduz OR röntgen", null, null, null)));
+    }
+
+    @Test
+    void titleMatchesRankAboveDiagnosisMatches() {
+        assertArrayEquals(new long[]{1, 2}, index.search("kuduz", null, null, null));
+        assertArrayEquals(new long[]{4, 1, 2}, index.search("kontrol", null, null, null));
+    }
+
+    @Test
+    void equalScoresPutTheNewerReportFirst() {
+        index.put(5L, "Aşı", "Karma", null, null, null);
+        index.put(6L, "Aşı", "Karma", null, null, null);
+
+        assertArrayEquals(new long[]{6, 5}, index.search("karma", null, null, null));
+    }
+
+    @Test
+    void doctorAndInclusiveDateFiltersUseTheAppointment() {
+        assertArrayEquals(new long[]{1, 3}, sorted(index.search("kuduz OR röntgen", 100L, null, null)));
+        assertArrayEquals(new long[]{1, 2}, sorted(index.search("kuduz OR röntgen", null, DAY, DAY.plusDays(1))));
+        assertArrayEquals(new long[]{2}, index.search("kontrol", null, DAY.plusDays(1), null));
+        // Randevusu olmayan rapor tarih filtresine hiç uymaz
+        assertArrayEquals(new long[]{1}, index.search("kontrol", null, null, DAY));
+    }
+
+    @Test
+    void moveAppointmentUpdatesTheFilters() {
+        index.moveAppointment(11L, LocalDateTime.of(2025, 1, 1, 9, 0), 200L);
+
+        assertArrayEquals(new long[0], index.search("kuduz", 100L, null, null));
+        assertArrayEquals(new long[]{1}, index.search("aşısı", 200L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void putReplacesTermsAndRemoveDropsTheReport() {
+        index.put(1L, "Tırnak kesimi", "Rutin", 11L, DAY.atTime(9, 0), 100L);
+        assertArrayEquals(new long[]{2}, index.search("kuduz", null, null, null));
+        assertArrayEquals(new long[]{1}, index.search("tırnak", null, null, null));
+
+        index.remove(2L);
+        assertArrayEquals(new long[0], index.search("kuduz", null, null, null));
+        assertArrayEquals(new long[]{4}, index.search("kontrol", null, null, null));
+    }
+
+    @Test
+    void rebuildReplaysWritesThatArriveDuringTheScan() throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        ReportSearchIndex index = new ReportSearchIndex(jdbcTemplate);
+        index.put(1L, "Kuduz aşısı", "Rutin kontrol", 11L, DAY.atTime(9, 0), 100L);
+        index.put(2L, "Genel muayene", "Kuduz şüphesi yok", 12L, DAY.atTime(10, 0), 100L);
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            // Tarama 1 ve 2'yi görürken 2 silinir, 1'in randevusu taşınır, 3 eklenir
+            index.remove(2L);
+            index.moveAppointment(11L, DAY.plusDays(3).atTime(9, 0), 200L);
+            index.put(3L, "Kuduz tekrarı", null, null, null, null);
+            handler.processRow(row(1L, "Kuduz aşısı", "Rutin kontrol", 11L, DAY.atTime(9, 0), 100L));
+            handler.processRow(row(2L, "Genel muayene", "Kuduz şüphesi yok", 12L, DAY.atTime(10, 0), 100L));
+            // Kurulum sürerken aramalar eski indeksten cevaplanır
+            assertArrayEquals(new long[]{1, 3}, sorted(index.search("kuduz", null, null, null)));
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertArrayEquals(new long[]{1, 3}, sorted(index.search("kuduz", null, null, null)));
+        assertArrayEquals(new long[]{1}, index.search("kuduz", 200L, DAY.plusDays(3), DAY.plusDays(3)));
+    }
+
+    private static ResultSet row(long id, String title, String diagnosis, Long appointmentId, LocalDateTime appointmentDate, Long doctorId) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(id);
+        when(rs.getString(2)).thenReturn(title);
+        when(rs.getString(3)).thenReturn(diagnosis);
+        when(rs.getObject(4, Long.class)).thenReturn(appointmentId);
+        when(rs.getTimestamp(5)).thenReturn(Timestamp.valueOf(appointmentDate));
+        when(rs.getObject(6, Long.class)).thenReturn(doctorId);
+        return rs;
+    }
+
+    private static long[] sorted(long[] ids) {
+        return Arrays.stream(ids).sorted().toArray();
+    }
+}
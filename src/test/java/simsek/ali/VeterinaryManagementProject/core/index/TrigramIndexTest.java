@@ -0,0 +1,68 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrigramIndexTest {
+
+    @Test
+    void searchIsCaseInsensitiveContains() {
+        TrigramIndex index = index();
+
+        assertArrayEquals(new long[]{1, 3}, index.search("pamuk"));
+        assertArrayEquals(new long[]{1, 3}, index.search("AMU"));
+        assertArrayEquals(new long[]{2}, index.search("karabaş"));
+        assertArrayEquals(new long[0], index.search("zeytin"));
+    }
+
+    @Test
+    void candidatesSharingEveryTrigramAreVerifiedAgainstTheName() {
+        TrigramIndex index = new TrigramIndex();
+        // "abcab" ve "cabc bca" abc, bca, cab parçalarını paylaşır ama yalnızca ilki "abcab" içerir
+        index.put(1, "abcab");
+        index.put(2, "cabc bca");
+
+        assertArrayEquals(new long[]{1}, index.search("abcab"));
+    }
+
+    @Test
+    void shortQueriesScanTheNames() {
+        TrigramIndex index = index();
+
+        assertArrayEquals(new long[]{1, 3}, index.search("pa"));
+        assertArrayEquals(new long[]{1, 2, 3, 4}, index.search(""));
+        assertArrayEquals(new long[]{1, 2, 3, 4}, index.search(null));
+    }
+
+    @Test
+    void putReplacesTheOldName() {
+        TrigramIndex index = index();
+        index.put(1, "Boncuk");
+
+        assertArrayEquals(new long[]{3}, index.search("pamuk"));
+        assertArrayEquals(new long[]{1}, index.search("boncuk"));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void removeAndNullNamesDropTheRecord() {
+        TrigramIndex index = index();
+        index.remove(2);
+        index.put(3, null);
+
+        assertArrayEquals(new long[0], index.search("karabaş"));
+        assertArrayEquals(new long[]{1}, index.search("pamuk"));
+        assertEquals(2, index.size());
+    }
+
+    private static TrigramIndex index() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Pamuk");
+        index.put(2, "Karabaş");
+        index.put(3, "Küçük Pamuk");
+        index.put(4, "Minnoş");
+        return index;
+    }
+}
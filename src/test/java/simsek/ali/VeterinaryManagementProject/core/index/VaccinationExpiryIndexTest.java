@@ -0,0 +1,116 @@
+package simsek.ali.VeterinaryManagementProject.core.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VaccinationExpiryIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private JdbcTemplate jdbcTemplate;
+    private VaccinationExpiryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        index = new VaccinationExpiryIndex(jdbcTemplate);
+        // DAY: 3, 1, 2 | DAY+1: boş | DAY+2: 10, 11 | DAY+5: 7
+        index.add(3L, DAY);
+        index.add(1L, DAY);
+        index.add(2L, DAY);
+        index.add(11L, DAY.plusDays(2));
+        index.add(10L, DAY.plusDays(2));
+        index.add(7L, DAY.plusDays(5));
+    }
+
+    @Test
+    void countSumsBucketsInsideTheInclusiveRange() {
+        assertEquals(6, index.count(DAY, DAY.plusDays(5)));
+        assertEquals(5, index.count(DAY, DAY.plusDays(4)));
+        assertEquals(2, index.count(DAY.plusDays(1), DAY.plusDays(2)));
+        assertEquals(0, index.count(DAY.plusDays(6), DAY.plusDays(9)));
+    }
+
+    @Test
+    void idsAreOrderedByDayThenId() {
+        assertEquals(List.of(1L, 2L, 3L, 10L, 11L, 7L), index.ids(DAY, DAY.plusDays(5), 0, 100));
+    }
+
+    @Test
+    void pagesSpanBucketBoundaries() {
+        assertEquals(List.of(1L, 2L), index.ids(DAY, DAY.plusDays(5), 0, 2));
+        assertEquals(List.of(3L, 10L), index.ids(DAY, DAY.plusDays(5), 2, 2));
+        assertEquals(List.of(11L, 7L), index.ids(DAY, DAY.plusDays(5), 4, 2));
+        assertEquals(List.of(2L, 3L, 10L, 11L), index.ids(DAY, DAY.plusDays(5), 1, 4));
+    }
+
+    @Test
+    void offsetPastTheEndReturnsAnEmptyPage() {
+        assertEquals(List.of(7L), index.ids(DAY, DAY.plusDays(5), 5, 2));
+        assertTrue(index.ids(DAY, DAY.plusDays(5), 6, 2).isEmpty());
+        assertTrue(index.ids(DAY, DAY.plusDays(5), 100, 2).isEmpty());
+    }
+
+    @Test
+    void addIsIdempotentAndRemoveDropsEmptyBuckets() {
+        index.add(2L, DAY);
+        assertEquals(3, index.count(DAY, DAY));
+
+        index.remove(7L, DAY.plusDays(5));
+        index.remove(99L, DAY);
+        assertEquals(0, index.count(DAY.plusDays(5), DAY.plusDays(5)));
+        assertEquals(List.of(1L, 2L, 3L, 10L, 11L), index.ids(DAY, DAY.plusDays(5), 0, 100));
+    }
+
+    @Test
+    void moveOutsideTransactionAppliesImmediately() {
+        index.move(3L, DAY, DAY.plusDays(5));
+        assertEquals(List.of(1L, 2L, 10L, 11L, 3L, 7L), index.ids(DAY, DAY.plusDays(5), 0, 100));
+    }
+
+    @Test
+    void rebuildReplaysWritesThatArriveDuringTheScan() throws Exception {
+        assertFalse(index.isReady());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            // Tarama 1 ve 2'yi görürken 2 silinir, 20 eklenir
+            index.remove(2L, DAY);
+            index.add(20L, DAY.plusDays(1));
+            handler.processRow(row(1L, DAY));
+            handler.processRow(row(2L, DAY));
+            assertEquals(List.of(1L, 3L, 20L, 10L, 11L, 7L), index.ids(DAY, DAY.plusDays(5), 0, 100));
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L, 20L), index.ids(DAY, DAY.plusDays(5), 0, 100));
+
+        index.add(30L, DAY);
+        assertEquals(List.of(1L, 30L, 20L), index.ids(DAY, DAY.plusDays(5), 0, 100));
+    }
+
+    private static ResultSet row(long id, LocalDate finishDate) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(id);
+        when(rs.getDate(2)).thenReturn(Date.valueOf(finishDate));
+        return rs;
+    }
+}
@@ -0,0 +1,256 @@
+package simsek.ali.VeterinaryManagementProject.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import simsek.ali.VeterinaryManagementProject.core.index.SlotOccupancyIndex;
+import simsek.ali.VeterinaryManagementProject.dto.request.AppointmentRequest;
+import simsek.ali.VeterinaryManagementProject.dto.request.AppointmentScheduleRequest;
+import simsek.ali.VeterinaryManagementProject.dto.response.AppointmentResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.AvailableSlotResponse;
+import simsek.ali.VeterinaryManagementProject.dto.response.ScheduleResultResponse;
+import simsek.ali.VeterinaryManagementProject.entity.Animal;
+import simsek.ali.VeterinaryManagementProject.entity.Doctor;
+import simsek.ali.VeterinaryManagementProject.exception.DoctorAppointmentConflictException;
+import simsek.ali.VeterinaryManagementProject.repository.AppointmentRepository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Doluluk indeksi günleri önbellekte tuttuğu için her test kendi gününü kullanır.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:appointments;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+class AppointmentServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 3);
+    private static final long DOCTOR = 1;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private SlotOccupancyIndex slotOccupancyIndex;
+
+    @SpyBean
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Planlama okumasından hemen sonra, kilitlerin dışından yazılacak randevu. */
+    private final AtomicReference<LocalDateTime> writeAfterPlanning = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from appointment");
+        jdbcTemplate.update("delete from work_day");
+        jdbcTemplate.update("delete from animal");
+        jdbcTemplate.update("delete from doctor");
+        jdbcTemplate.update("delete from customer");
+
+        jdbcTemplate.update("insert into customer (id, name) values (1, 'Ayşe')");
+        for (long animalId : new long[]{10, 20, 30}) {
+            jdbcTemplate.update("insert into animal (id, name, species, customer_id) values (?, 'Pamuk', 'Kedi', 1)", animalId);
+        }
+        jdbcTemplate.update("insert into doctor (id, name) values (?, 'Dr. Demir')", DOCTOR);
+
+        // Depo bir arayüz vekili olduğundan casus gerçek depoya varsayılan cevabıyla yönlendirir
+        Answer<?> repository = mockingDetails(appointmentRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object slots = repository.answer(invocation);
+            LocalDateTime appointmentDate = writeAfterPlanning.getAndSet(null);
+            if (appointmentDate != null) {
+                insertAppointment(900, appointmentDate, 30);
+            }
+            return slots;
+        }).when(appointmentRepository).findDoctorSlotsByDateRange(any(), any(), any());
+    }
+
+    @Test
+    void scheduleFillsTheEarliestFreeSlotsAndReportsTheRest() {
+        LocalDate day = DAY;
+        insertWorkDay(1, day);
+        insertAppointment(800, day.atTime(9, 0), 30);
+
+        ScheduleResultResponse result = appointmentService.scheduleAppointments(List.of(
+                request(10L, day.atTime(9, 0), day.atTime(10, 0)),
+                request(20L, day.atTime(9, 0), day.atTime(9, 30)),
+                request(30L, day.plusDays(1).atTime(9, 0), day.plusDays(1).atTime(12, 0)),
+                request(999L, day.atTime(9, 0), day.atTime(12, 0)),
+                request(10L, day.atTime(12, 0), day.atTime(9, 0))));
+
+        assertEquals(2, result.getScheduled());
+        assertEquals(3, result.getUnplaced());
+        // En erken biten pencere önce yerleşir
+        assertEquals(day.atTime(10, 0), result.getAppointments().get(0).getAppointmentDate());
+        assertEquals(day.atTime(9, 30), result.getAppointments().get(1).getAppointmentDate());
+        assertEquals(List.of(2, 3, 4), result.getUnplacedRequests().stream().map(ScheduleResultResponse.UnplacedRequest::getIndex).toList());
+        assertEquals("İstenen zaman aralığında boş randevu bulunamadı.", result.getUnplacedRequests().get(0).getMessage());
+        assertEquals(3, countAppointments(day));
+    }
+
+    @Test
+    void aRowRejectedByTheDatabaseIsRetriedAloneAndOnlyItIsUnplaced() {
+        LocalDate day = DAY.plusDays(7);
+        insertWorkDay(2, day);
+        // İndeks günü yüklesin; sonraki yazmayı görmeyecek
+        slotOccupancyIndex.status(DOCTOR, day.atTime(16, 30), Duration.ofMinutes(30), 10L);
+        writeAfterPlanning.set(day.atTime(9, 0));
+
+        ScheduleResultResponse result = appointmentService.scheduleAppointments(List.of(
+                request(20L, day.atTime(9, 0), day.atTime(9, 0)),
+                request(30L, day.atTime(9, 30), day.atTime(9, 30))));
+
+        assertEquals(1, result.getScheduled());
+        assertEquals(1, result.getAppointments().get(0).getIndex());
+        assertEquals(day.atTime(9, 30), result.getAppointments().get(0).getAppointmentDate());
+        assertEquals(1, result.getUnplaced());
+        assertEquals(0, result.getUnplacedRequests().get(0).getIndex());
+        assertEquals(new DoctorAppointmentConflictException(day).getMessage(), result.getUnplacedRequests().get(0).getMessage());
+        assertEquals(2, countAppointments(day));
+    }
+
+    @Test
+    void concurrentBookingsForTheSameDoctorAndDayAreSerialized() throws Exception {
+        LocalDate day = DAY.plusDays(14);
+        insertWorkDay(3, day);
+        int threads = 8;
+        for (long animalId = 100; animalId < 100 + threads; animalId++) {
+            jdbcTemplate.update("insert into animal (id, name, species, customer_id) values (?, 'Pamuk', 'Kedi', 1)", animalId);
+        }
+
+        // Hepsi birbiriyle çakışan, aynı anda gelen randevular; yalnızca biri yazılmalı
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AppointmentResponse>> bookings = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long animalId = 100 + i;
+            LocalDateTime appointmentDate = day.atTime(10, 0).plusMinutes(5L * i);
+            bookings.add(executor.submit(() -> {
+                start.await();
+                return appointmentService.createAppointment(appointmentRequest(animalId, appointmentDate, 60));
+            }));
+        }
+        start.countDown();
+
+        int booked = 0;
+        int conflicts = 0;
+        for (Future<AppointmentResponse> booking : bookings) {
+            try {
+                booking.get(30, TimeUnit.SECONDS);
+                booked++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(DoctorAppointmentConflictException.class, e.getCause());
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, booked);
+        assertEquals(threads - 1, conflicts);
+        assertEquals(1, countAppointments(day));
+    }
+
+    @Test
+    void nextAvailableSkipsBookedTimeAndDaysOff() {
+        LocalDate day = DAY.plusDays(21);
+        insertWorkDay(4, day);
+        jdbcTemplate.update("insert into doctor (id, name) values (2, 'Dr. Kaya')");
+        jdbcTemplate.update("insert into work_day (id, work_date, doctor_id) values (5, ?, 2)", Date.valueOf(day.plusDays(1)));
+        // 45 dakikalık randevu iki slotu, slot ortasında başlayan randevu da başladığı slotu doldurur
+        insertAppointment(801, day.atTime(9, 0), 45);
+        insertAppointment(802, day.atTime(11, 15), 15);
+
+        List<AvailableSlotResponse> slots = appointmentService.findNextAvailableSlots(day, day.plusDays(1), null, 4);
+        assertEquals(List.of(day.atTime(10, 0), day.atTime(10, 30), day.atTime(11, 30), day.atTime(12, 0)),
+                slots.stream().map(AvailableSlotResponse::getAppointmentDate).toList());
+        assertEquals(List.of(DOCTOR), slots.stream().map(AvailableSlotResponse::getDoctorId).distinct().toList());
+
+        List<AvailableSlotResponse> otherDoctor = appointmentService.findNextAvailableSlots(day, day.plusDays(1), 2L, 2);
+        assertEquals(List.of(day.plusDays(1).atTime(9, 0), day.plusDays(1).atTime(9, 30)),
+                otherDoctor.stream().map(AvailableSlotResponse::getAppointmentDate).toList());
+        assertEquals("Dr. Kaya", otherDoctor.get(0).getDoctorName());
+    }
+
+    @Test
+    void overlappingBookingsConflictAndTouchingOnesDoNot() {
+        LocalDate day = DAY.plusDays(28);
+        insertWorkDay(6, day);
+        appointmentService.createAppointment(appointmentRequest(10, day.atTime(10, 0), 30));
+
+        assertThrows(DoctorAppointmentConflictException.class,
+                () -> appointmentService.createAppointment(appointmentRequest(20, day.atTime(10, 5), 30)));
+        assertThrows(DoctorAppointmentConflictException.class,
+                () -> appointmentService.createAppointment(appointmentRequest(20, day.atTime(9, 45), 30)));
+        assertThrows(DoctorAppointmentConflictException.class,
+                () -> appointmentService.createAppointment(appointmentRequest(20, day.atTime(9, 0), 120)));
+
+        appointmentService.createAppointment(appointmentRequest(20, day.atTime(9, 30), 30));
+        AppointmentResponse later = appointmentService.createAppointment(appointmentRequest(30, day.atTime(10, 30), 30));
+
+        // Taşınan randevu da aynı kontrolden geçer; kendi eski aralığı çakışma sayılmaz
+        assertThrows(DoctorAppointmentConflictException.class,
+                () -> appointmentService.updateAppointment(later.getId(), appointmentRequest(30, day.atTime(10, 15), 30)));
+        appointmentService.updateAppointment(later.getId(), appointmentRequest(30, day.atTime(10, 40), 30));
+        assertEquals(3, countAppointments(day));
+    }
+
+    private static AppointmentRequest appointmentRequest(long animalId, LocalDateTime appointmentDate, Integer durationMinutes) {
+        Doctor doctor = new Doctor();
+        doctor.setId(DOCTOR);
+        Animal animal = new Animal();
+        animal.setId(animalId);
+        AppointmentRequest request = new AppointmentRequest();
+        request.setAppointmentDate(appointmentDate);
+        request.setDurationMinutes(durationMinutes);
+        request.setDoctor(doctor);
+        request.setAnimal(animal);
+        return request;
+    }
+
+    private static AppointmentScheduleRequest request(Long animalId, LocalDateTime earliest, LocalDateTime latest) {
+        AppointmentScheduleRequest request = new AppointmentScheduleRequest();
+        request.setAnimalId(animalId);
+        request.setEarliest(earliest);
+        request.setLatest(latest);
+        return request;
+    }
+
+    private void insertWorkDay(long id, LocalDate day) {
+        jdbcTemplate.update("insert into work_day (id, work_date, doctor_id) values (?, ?, ?)", id, Date.valueOf(day), DOCTOR);
+    }
+
+    private void insertAppointment(long id, LocalDateTime appointmentDate, int durationMinutes) {
+        jdbcTemplate.update("insert into appointment (id, appointment_date, duration_minutes, doctor_id, animal_id) values (?, ?, ?, ?, 10)",
+                id, Timestamp.valueOf(appointmentDate), durationMinutes, DOCTOR);
+    }
+
+    private int countAppointments(LocalDate day) {
+        return jdbcTemplate.queryForObject("select count(*) from appointment where appointment_date >= ? and appointment_date < ?", Integer.class,
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+    }
+}
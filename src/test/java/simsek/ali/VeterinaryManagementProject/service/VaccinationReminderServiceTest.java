@@ -0,0 +1,147 @@
+package simsek.ali.VeterinaryManagementProject.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import simsek.ali.VeterinaryManagementProject.core.reminder.InMemoryReminderSink;
+import simsek.ali.VeterinaryManagementProject.core.reminder.VaccinationReminder;
+import simsek.ali.VeterinaryManagementProject.entity.Vaccination;
+import simsek.ali.VeterinaryManagementProject.repository.VaccinationRepository;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reminders;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "vetapp.reminders.sink=memory",
+        "vetapp.reminders.enabled=false",
+        "vetapp.reminders.days-ahead=30"})
+class VaccinationReminderServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 1);
+
+    @Autowired
+    private VaccinationReminderService vaccinationReminderService;
+
+    @Autowired
+    private InMemoryReminderSink reminderSink;
+
+    @Autowired
+    private VaccinationRepository vaccinationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from vaccination");
+        jdbcTemplate.update("delete from animal");
+        jdbcTemplate.update("delete from customer");
+        reminderSink.getQueue().clear();
+
+        jdbcTemplate.update("insert into customer (id, name, phone, email, address, city) values (1, 'Ayşe', '555', 'ayse@example.com', 'Adres', 'İzmir')");
+        jdbcTemplate.update("insert into customer (id, name, phone, email, address, city) values (2, 'Mehmet', '556', 'mehmet@example.com', 'Adres', 'Ankara')");
+        jdbcTemplate.update("insert into animal (id, name, species, customer_id) values (10, 'Pamuk', 'Kedi', 1)");
+        jdbcTemplate.update("insert into animal (id, name, species, customer_id) values (20, 'Karabaş', 'Köpek', 2)");
+    }
+
+    @Test
+    void emitsEachVaccinationOncePerFinishDate() throws IOException {
+        insertVaccination(100, 10, TODAY.plusDays(5));
+        insertVaccination(101, 10, TODAY.plusDays(30));
+        insertVaccination(102, 20, TODAY.plusDays(31));
+        insertVaccination(103, 20, TODAY.minusDays(1));
+
+        assertEquals(2, emit(TODAY));
+        List<VaccinationReminder> reminders = drain();
+        assertEquals(1, reminders.size());
+        assertEquals(1L, reminders.get(0).customerId());
+        assertEquals(List.of(100L, 101L), vaccinationIds(reminders));
+
+        assertEquals(0, emit(TODAY));
+        assertTrue(drain().isEmpty());
+
+        // Ertesi gün pencereye giren aşı
+        assertEquals(1, emit(TODAY.plusDays(1)));
+        assertEquals(List.of(102L), vaccinationIds(drain()));
+    }
+
+    @Test
+    void catchesLateCommittedInsertsBelowTheLastSeenId() throws IOException {
+        insertVaccination(200, 10, TODAY.plusDays(3));
+        assertEquals(1, emit(TODAY));
+        drain();
+
+        // Daha küçük id'li, önceki çalışmadan sonra commit edilmiş ekleme
+        insertVaccination(150, 20, TODAY.plusDays(2));
+        assertEquals(1, emit(TODAY));
+        List<VaccinationReminder> reminders = drain();
+        assertEquals(2L, reminders.get(0).customerId());
+        assertEquals(List.of(150L), vaccinationIds(reminders));
+    }
+
+    @Test
+    void remindsAgainWhenTheFinishDateChanges() throws IOException {
+        insertVaccination(300, 10, TODAY.plusDays(60));
+        insertVaccination(301, 20, TODAY.plusDays(10));
+        assertEquals(1, emit(TODAY));
+        drain();
+
+        // Pencerenin dışından, daha önce taranmış bir güne çekilen aşı
+        jdbcTemplate.update("update vaccination set protection_finish_date = ? where id = 300", Date.valueOf(TODAY.plusDays(4)));
+        // Hatırlatması gönderilmiş aşının bitiş tarihi değişti
+        jdbcTemplate.update("update vaccination set protection_finish_date = ? where id = 301", Date.valueOf(TODAY.plusDays(12)));
+
+        assertEquals(2, emit(TODAY));
+        List<VaccinationReminder> reminders = drain();
+        assertEquals(List.of(300L, 301L), vaccinationIds(reminders));
+        assertEquals(TODAY.plusDays(12), reminders.get(1).vaccinations().get(0).protectionFinishDate());
+
+        assertEquals(0, emit(TODAY));
+    }
+
+    @Test
+    void savingAStaleVaccinationKeepsTheReminderMark() throws IOException {
+        insertVaccination(400, 10, TODAY.plusDays(7));
+        // Güncelleme, hatırlatma çalışmasından önce okunmuş varlığı kaydeder
+        Vaccination stale = vaccinationRepository.findById(400L).orElseThrow();
+        assertEquals(1, emit(TODAY));
+        drain();
+
+        stale.setName("Kuduz (tekrar)");
+        vaccinationRepository.save(stale);
+
+        assertEquals(0, emit(TODAY));
+        assertTrue(drain().isEmpty());
+    }
+
+    private int emit(LocalDate today) throws IOException {
+        return vaccinationReminderService.emitDueReminders(today);
+    }
+
+    private void insertVaccination(long id, long animalId, LocalDate finishDate) {
+        jdbcTemplate.update("insert into vaccination (id, name, code, protection_start_date, protection_finish_date, animal_id) values (?, 'Kuduz', 'KDZ', ?, ?, ?)",
+                id, Date.valueOf(finishDate.minusYears(1)), Date.valueOf(finishDate), animalId);
+    }
+
+    private List<VaccinationReminder> drain() {
+        List<VaccinationReminder> reminders = new ArrayList<>();
+        reminderSink.getQueue().drainTo(reminders);
+        return reminders;
+    }
+
+    private static List<Long> vaccinationIds(List<VaccinationReminder> reminders) {
+        return reminders.stream()
+                .flatMap(reminder -> reminder.vaccinations().stream())
+                .map(VaccinationReminder.DueVaccination::vaccinationId)
+                .toList();
+    }
+}